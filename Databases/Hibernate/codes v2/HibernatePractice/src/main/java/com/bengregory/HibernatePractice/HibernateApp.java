@@ -1,11 +1,13 @@
 package com.bengregory.HibernatePractice;
 
 import com.bengregory.HibernatePractice.dao.StudentDAO;
+import com.bengregory.HibernatePractice.dto.StudentSummary;
 import com.bengregory.HibernatePractice.entity.Student;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 
 import java.util.List;
 
@@ -17,6 +19,7 @@ public class HibernateApp {
 	}
 
 	@Bean
+	@Profile("!benchmark") // Benchmarks boot the same context without running the demo
 	public CommandLineRunner commandLineRunner(StudentDAO studentDAO){
 		return runner ->{
 
@@ -28,8 +31,12 @@ public class HibernateApp {
 
 			retrieveStudentsByDepartment(studentDAO, "CSE");
 
+			iterateAllStudents(studentDAO);
+
 			updateStudent(studentDAO, 1);
 
+			updateDepartmentMarks(studentDAO, "CSE", 1300);
+
 			deleteStudent(studentDAO, 8);
 
 		};
@@ -65,18 +72,19 @@ public class HibernateApp {
 	private void retrieveAllStudents(StudentDAO studentDAO) {
 		// Retrieve all Students
 		System.out.println("Retrieving all Students from the database...");
-		List<Student> studentList = studentDAO.findAll();
+		// Only printed, never modified, so a read-only projection is enough
+		List<StudentSummary> studentList = studentDAO.findAllSummaries();
 
 		// Display all Students
 		if(studentList.isEmpty()){
 			System.out.println("Database is empty! Nothing to retrieve.");
 		}
 		else{
-			for(Student student: studentList){
-				System.out.println("Student ID: " + student.getId() +
-						", Student Name: " + student.getFirstName() + " " + student.getLastName() +
-						", Department: " + student.getDepartment() +
-						", Total Marks: " + student.getTotalMarks());
+			for(StudentSummary student: studentList){
+				System.out.println("Student ID: " + student.id() +
+						", Student Name: " + student.firstName() + " " + student.lastName() +
+						", Department: " + student.department() +
+						", Total Marks: " + student.totalMarks());
 			}
 		}
 	}
@@ -84,22 +92,41 @@ public class HibernateApp {
 	private void retrieveStudentsByDepartment(StudentDAO studentDAO, String department) {
 		// Retrieve Students by Department
 		System.out.println("Retrieving all Students from " + department + " department");
-		List<Student> studentList = studentDAO.findByDepartment(department);
+		List<StudentSummary> studentList = studentDAO.findSummariesByDepartment(department);
 
 		// Display all Students
 		if(studentList.isEmpty()){
 			System.out.println("Student details from " + department + " department not added!");
 		}
 		else {
-			for(Student student: studentList){
-				System.out.println("Student ID: " + student.getId() +
-						", Student Name: " + student.getFirstName() + " " + student.getLastName() +
-						", Department: " + student.getDepartment() +
-						", Total Marks: " + student.getTotalMarks());
+			for(StudentSummary student: studentList){
+				System.out.println("Student ID: " + student.id() +
+						", Student Name: " + student.firstName() + " " + student.lastName() +
+						", Department: " + student.department() +
+						", Total Marks: " + student.totalMarks());
 			}
 		}
 	}
 
+	private void iterateAllStudents(StudentDAO studentDAO) {
+		// Scroll through every Student without loading the whole table into memory
+		System.out.println("Scanning all Students...");
+		long[] totals = new long[2]; // {count, total marks}
+
+		studentDAO.forEachStudent(student -> {
+			totals[0]++;
+			totals[1] += student.getTotalMarks();
+		});
+
+		// Display the summary
+		if(totals[0] == 0){
+			System.out.println("Database is empty! Nothing to scan.");
+		}
+		else {
+			System.out.println("Scanned " + totals[0] + " Students, average marks: " + (totals[1] / totals[0]));
+		}
+	}
+
 	private void updateStudent(StudentDAO studentDAO, int id){
 		// Retrieve the student
 		System.out.println("Getting the Student information having id: " + id);
@@ -126,18 +153,24 @@ public class HibernateApp {
 		}
 	}
 
+	private void updateDepartmentMarks(StudentDAO studentDAO, String department, int totalMarks){
+		// Update every Student of the department with a single UPDATE statement
+		System.out.println("Setting Total Marks of " + department + " department to " + totalMarks);
+		int rows = studentDAO.updateMarksByDepartment(department, totalMarks);
+
+		// Display the update
+		System.out.println("Successfully updated " + rows + " Student(s)");
+	}
+
 	private void deleteStudent(StudentDAO studentDAO, int id){
-		// Check if the Student exists
-		Student student = studentDAO.findById(id);
+		// Delete the student directly; the row count tells us whether it existed
+		System.out.println("Deleting the Student information...");
+		int rows = studentDAO.deleteById(id);
 
-		if(student == null){
+		if(rows == 0){
 			System.out.println("Unable to delete Student! Try again.");
 		}
 		else {
-			// Delete the student
-			System.out.println("Deleting the Student information...");
-			studentDAO.delete(id);
-
 			// Display the deletion
 			System.out.println("Successfully deleted Student having id: " + id);
 		}
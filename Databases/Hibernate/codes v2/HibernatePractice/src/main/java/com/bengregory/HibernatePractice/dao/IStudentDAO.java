@@ -1,20 +1,45 @@
 package com.bengregory.HibernatePractice.dao;
 
+import com.bengregory.HibernatePractice.dto.StudentSummary;
 import com.bengregory.HibernatePractice.entity.Student;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IStudentDAO {
 
     void save(Student student);
 
+    void saveAll(List<Student> students);
+
     Student findById(int Id);
 
     List<Student> findAll();
 
     List<Student> findByDepartment(String department);
 
+    List<StudentSummary> findAllSummaries();
+
+    List<StudentSummary> findSummariesByDepartment(String department);
+
+    List<Student> findAll(int page, int pageSize);
+
+    List<Student> findByDepartment(String department, int page, int pageSize);
+
+    void forEachStudent(Consumer<Student> action);
+
+    void forEachStudentInDepartment(String department, Consumer<Student> action);
+
     void update(Student student);
 
+    void updateAll(List<Student> students);
+
     void delete(int Id);
+
+    int deleteById(int id);
+
+    int deleteByIds(Collection<Integer> ids);
+
+    int updateMarksByDepartment(String department, int totalMarks);
 }
@@ -1,17 +1,36 @@
 package com.bengregory.HibernatePractice.dao;
 
+import com.bengregory.HibernatePractice.dto.StudentSummary;
 import com.bengregory.HibernatePractice.entity.Student;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.SelectionQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 public class StudentDAO implements IStudentDAO{
 
+    // Rows the driver pulls per round trip while scrolling
+    private static final int FETCH_SIZE = 1000;
+
+    // Detach scrolled entities every CLEAR_INTERVAL rows so the persistence context stays small
+    private static final int CLEAR_INTERVAL = 1000;
+
+    // Entities per flush in saveAll()/updateAll(); matches hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+
     // Define field for Entity Manager
     private final EntityManager entityManager;
 
@@ -28,6 +47,20 @@ public class StudentDAO implements IStudentDAO{
         entityManager.persist(student);
     }
 
+    // Implement saveAll(): one transaction, INSERTs sent as JDBC batches
+    @Override
+    @Transactional
+    public void saveAll(List<Student> students){
+        for (int i = 0; i < students.size(); i++) {
+            entityManager.persist(students.get(i));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                // Send this batch and forget the saved students so memory does not grow with the list
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
     // Implement findById() method
     @Override
     public Student findById(int id){
@@ -58,11 +91,165 @@ public class StudentDAO implements IStudentDAO{
         entityManager.merge(student);
     }
 
+    // Implement updateAll(): one transaction, UPDATEs sent as JDBC batches
+    @Override
+    @Transactional
+    public void updateAll(List<Student> students){
+        for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+            List<Student> chunk = students.subList(from, Math.min(from + BATCH_SIZE, students.size()));
+
+            // Load the chunk with one query so merge() finds managed copies instead of selecting each row
+            List<Integer> ids = chunk.stream().map(Student::getId).toList();
+            entityManager.createQuery("FROM Student WHERE id IN :ids", Student.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+
+            for (Student student : chunk) {
+                entityManager.merge(student);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
     // Implement delete() method
     @Override
     @Transactional
     public void delete(int Id){
-        Student student = findById(Id);
-        if(student != null) entityManager.remove(student);
+        deleteById(Id);
+    }
+
+    /*
+     * The bulk operations below run as a single UPDATE/DELETE statement without loading any Student.
+     * They bypass the persistence context, so it is cleared afterwards: otherwise a Student loaded
+     * earlier in the same transaction would still show the old marks or look like it still exists.
+     * Hibernate flushes pending changes before the statement and evicts the Student second-level cache region itself.
+     */
+
+    // Implement deleteById(): returns the number of rows deleted (0 if no such student)
+    @Override
+    @Transactional
+    public int deleteById(int id){
+        int rows = entityManager.createQuery("DELETE FROM Student WHERE id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+        return rows;
+    }
+
+    // Implement deleteByIds()
+    @Override
+    @Transactional
+    public int deleteByIds(Collection<Integer> ids){
+        if (ids.isEmpty()) return 0;
+
+        int rows = entityManager.createQuery("DELETE FROM Student WHERE id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        entityManager.clear();
+        return rows;
+    }
+
+    // Implement updateMarksByDepartment()
+    @Override
+    @Transactional
+    public int updateMarksByDepartment(String department, int totalMarks){
+        int rows = entityManager.createQuery("UPDATE Student SET totalMarks = :marks WHERE department = :dept")
+                .setParameter("marks", totalMarks)
+                .setParameter("dept", department)
+                .executeUpdate();
+        entityManager.clear();
+        return rows;
+    }
+
+    // Constructor expression: Hibernate builds StudentSummary records straight from the row,
+    // so no entity, no dirty-checking snapshot and no persistence-context entry per student
+    private static final String SUMMARY_SELECT = "SELECT new com.bengregory.HibernatePractice.dto.StudentSummary("
+            + "s.id, s.firstName, s.lastName, s.department, s.totalMarks) FROM Student s";
+
+    // Implement findAllSummaries()
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentSummary> findAllSummaries(){
+        TypedQuery<StudentSummary> typedQuery = entityManager.createQuery(
+                SUMMARY_SELECT + " ORDER BY s.id DESC", StudentSummary.class);
+        typedQuery.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return typedQuery.getResultList();
+    }
+
+    // Implement findSummariesByDepartment()
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentSummary> findSummariesByDepartment(String department){
+        TypedQuery<StudentSummary> typedQuery = entityManager.createQuery(
+                SUMMARY_SELECT + " WHERE s.department =: dept ORDER BY s.id ASC", StudentSummary.class);
+        typedQuery.setParameter("dept", department);
+        typedQuery.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return typedQuery.getResultList();
+    }
+
+    // Implement paged findAll(): page is zero-based
+    @Override
+    public List<Student> findAll(int page, int pageSize){
+        TypedQuery<Student> typedQuery = entityManager.createQuery(
+                "FROM Student ORDER BY id DESC", Student.class);
+        typedQuery.setFirstResult(page * pageSize);
+        typedQuery.setMaxResults(pageSize);
+        return typedQuery.getResultList();
+    }
+
+    // Implement paged findByDepartment(): page is zero-based
+    @Override
+    public List<Student> findByDepartment(String department, int page, int pageSize){
+        TypedQuery<Student> typedQuery = entityManager.createQuery(
+                "FROM Student WHERE department =: dept ORDER BY id ASC", Student.class);
+        typedQuery.setParameter("dept", department);
+        typedQuery.setFirstResult(page * pageSize);
+        typedQuery.setMaxResults(pageSize);
+        return typedQuery.getResultList();
+    }
+
+    /*
+     * forEachStudent()/forEachStudentInDepartment() visit every student in constant memory by clearing
+     * the persistence context as they go. They always run in their own read-only transaction
+     * (REQUIRES_NEW): joining a caller's transaction would let that clear() detach the caller's
+     * entities and drop its unflushed changes. The caller's transaction is suspended meanwhile, and
+     * the cursor lives as long as the scroll's own connection.
+     */
+
+    // Implement forEachStudent()
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public void forEachStudent(Consumer<Student> action){
+        SelectionQuery<Student> query = entityManager.unwrap(Session.class)
+                .createSelectionQuery("FROM Student ORDER BY id ASC", Student.class);
+        scroll(query, action);
+    }
+
+    // Implement forEachStudentInDepartment()
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public void forEachStudentInDepartment(String department, Consumer<Student> action){
+        SelectionQuery<Student> query = entityManager.unwrap(Session.class)
+                .createSelectionQuery("FROM Student WHERE department =: dept ORDER BY id ASC", Student.class);
+        query.setParameter("dept", department);
+        scroll(query, action);
+    }
+
+    private void scroll(SelectionQuery<Student> query, Consumer<Student> action){
+        query.setFetchSize(FETCH_SIZE);
+        query.setReadOnly(true);
+        query.setCacheMode(CacheMode.IGNORE);
+
+        try (ScrollableResults<Student> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            int count = 0;
+            while (results.next()) {
+                action.accept(results.get());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    // Drop the students already handed out, otherwise every row stays managed until the end
+                    entityManager.clear();
+                }
+            }
+        }
     }
 }
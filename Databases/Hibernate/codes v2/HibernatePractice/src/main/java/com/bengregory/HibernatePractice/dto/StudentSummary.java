@@ -0,0 +1,5 @@
+package com.bengregory.HibernatePractice.dto;
+
+// Read-only view of a Student for listings; built directly by the query, never managed by Hibernate
+public record StudentSummary(int id, String firstName, String lastName, String department, int totalMarks) {
+}
@@ -0,0 +1,36 @@
+-- Schema for the student_tracker database.
+-- Hibernate never generates the schema here (no ddl-auto), so this file is the source of truth.
+-- It runs on every startup (spring.sql.init.mode=always), so every statement is safe to repeat.
+
+CREATE TABLE IF NOT EXISTS student (
+    id          INT NOT NULL AUTO_INCREMENT,
+    first_name  VARCHAR(45),
+    last_name   VARCHAR(45),
+    department  VARCHAR(45),
+    total_marks INT,
+    PRIMARY KEY (id)
+);
+
+-- (department, id) matches findByDepartment's WHERE + ORDER BY, so it can be read straight off the index.
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so the statement is only built when the index is missing.
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+                      'CREATE INDEX idx_student_department ON student (department, id)',
+                      'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'student' AND index_name = 'idx_student_department');
+PREPARE create_index FROM @ddl;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
+
+-- Student ids come from Hibernate's pooled student_seq generator (allocationSize 50), which is what lets it
+-- batch INSERTs. MySQL has no sequences, so Hibernate keeps the counter in this one-row table.
+CREATE TABLE IF NOT EXISTS student_seq (
+    next_val BIGINT
+);
+
+-- Seeded once, past the ids AUTO_INCREMENT has already handed out. Hibernate reads next_val, bumps it by 50
+-- and uses the 50 ids ending at the value it read, so the first block must end at MAX(id) + 50.
+-- From then on insert students through Hibernate: an AUTO_INCREMENT insert could take an id from a reserved block.
+INSERT INTO student_seq (next_val)
+SELECT seed FROM (SELECT COALESCE(MAX(id), 0) + 50 AS seed FROM student) AS current_max
+WHERE NOT EXISTS (SELECT 1 FROM student_seq);
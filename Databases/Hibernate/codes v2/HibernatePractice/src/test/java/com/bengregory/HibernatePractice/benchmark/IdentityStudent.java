@@ -0,0 +1,41 @@
+package com.bengregory.HibernatePractice.benchmark;
+
+import jakarta.persistence.*;
+
+/*
+ * The Student mapping as it was before pooled ids: same table, id taken from AUTO_INCREMENT.
+ * Hibernate has to execute each INSERT on its own to read the generated key back, so it cannot batch them.
+ * Only used by StudentInsertBenchmark as the baseline.
+ */
+@Entity
+@Table(name="student")
+public class IdentityStudent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name="id")
+    private int id;
+
+    @Column(name="first_name")
+    private String firstName;
+
+    @Column(name="last_name")
+    private String lastName;
+
+    @Column(name="department")
+    private String department;
+
+    @Column(name="total_marks")
+    private int totalMarks;
+
+    protected IdentityStudent(){
+
+    }
+
+    public IdentityStudent(String firstName, String lastName, String department, int totalMarks) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.department = department;
+        this.totalMarks = totalMarks;
+    }
+}
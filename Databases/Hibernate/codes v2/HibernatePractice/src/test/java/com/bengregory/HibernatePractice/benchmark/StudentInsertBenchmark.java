@@ -0,0 +1,98 @@
+package com.bengregory.HibernatePractice.benchmark;
+
+import com.bengregory.HibernatePractice.HibernateApp;
+import com.bengregory.HibernatePractice.dao.StudentDAO;
+import com.bengregory.HibernatePractice.entity.Student;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Inserts students three ways and prints rows/second:
+ *  - IDENTITY save(): one transaction per student, id from AUTO_INCREMENT (the original mapping, see IdentityStudent)
+ *  - save():          one transaction per student, id from the pooled student_seq
+ *  - saveAll():       one transaction per chunk, INSERTs flushed as JDBC batches
+ *
+ * Runs against the database in application.properties (rows are left behind, use a scratch schema).
+ * Usage: StudentInsertBenchmark [rows] [chunkSize]    defaults: 1000000 10000
+ */
+public class StudentInsertBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HibernateApp.class)
+                .profiles("benchmark")
+                .run(args)) {
+            StudentDAO studentDAO = context.getBean(StudentDAO.class);
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            // The IDENTITY path runs first: its AUTO_INCREMENT ids pass student_seq, which is then moved past them
+            // before Hibernate reserves its first block. Warm-ups keep class loading and connection setup out of the timings.
+            insertWithIdentity(entityManager, transaction, 1_000);
+            long start = System.nanoTime();
+            insertWithIdentity(entityManager, transaction, rows);
+            report("IDENTITY save()", rows, System.nanoTime() - start);
+            transaction.executeWithoutResult(status -> entityManager
+                    .createNativeQuery("UPDATE student_seq SET next_val = (SELECT MAX(id) + 50 FROM student)")
+                    .executeUpdate());
+
+            insertOneByOne(studentDAO, 1_000);
+            insertBatched(studentDAO, 1_000, chunkSize);
+
+            start = System.nanoTime();
+            insertOneByOne(studentDAO, rows);
+            report("save() per student", rows, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            insertBatched(studentDAO, rows, chunkSize);
+            report("saveAll() batched", rows, System.nanoTime() - start);
+        }
+    }
+
+    private static void insertWithIdentity(EntityManager entityManager, TransactionTemplate transaction, int rows) {
+        String[] departments = {"CSE", "ECE", "AI", "ME", "CE"};
+        for (int i = 0; i < rows; i++) {
+            IdentityStudent student = new IdentityStudent("First" + i, "Last" + i, departments[i % departments.length], i % 1500);
+            transaction.executeWithoutResult(status -> entityManager.persist(student));
+        }
+    }
+
+    private static void insertOneByOne(StudentDAO studentDAO, int rows) {
+        for (int i = 0; i < rows; i++) {
+            studentDAO.save(newStudent(i));
+        }
+    }
+
+    private static void insertBatched(StudentDAO studentDAO, int rows, int chunkSize) {
+        // Hand saveAll() bounded chunks so the benchmark itself does not hold a million entities
+        List<Student> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(newStudent(i));
+            if (chunk.size() == chunkSize) {
+                studentDAO.saveAll(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            studentDAO.saveAll(chunk);
+        }
+    }
+
+    private static Student newStudent(int i) {
+        String[] departments = {"CSE", "ECE", "AI", "ME", "CE"};
+        return new Student("First" + i, "Last" + i, departments[i % departments.length], i % 1500);
+    }
+
+    private static void report(String label, int rows, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-20s %,d rows in %.1fs = %,.0f rows/s%n", label, rows, seconds, rows / seconds);
+    }
+}
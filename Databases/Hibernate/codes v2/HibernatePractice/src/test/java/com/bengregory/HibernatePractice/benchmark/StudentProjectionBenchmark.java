@@ -0,0 +1,88 @@
+package com.bengregory.HibernatePractice.benchmark;
+
+import com.bengregory.HibernatePractice.HibernateApp;
+import com.bengregory.HibernatePractice.dao.StudentDAO;
+import com.bengregory.HibernatePractice.entity.Student;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+ * Heap and CPU cost of listing students as managed entities (findAll) versus
+ * read-only StudentSummary projections (findAllSummaries), normalised per 100k rows.
+ *
+ * Both run inside a transaction, as a service method would, so the entity path keeps its
+ * persistence context (entity instances + dirty-checking snapshots) alive while the list is in use.
+ *  - allocated: bytes allocated by the listing thread
+ *  - retained:  heap still reachable after a GC while the result is held
+ *  - cpu:       thread CPU time
+ *
+ * Inserts "rows" students first, so point it at a scratch schema.
+ * Usage: StudentProjectionBenchmark [rows] [rounds]    defaults: 100000 5
+ */
+public class StudentProjectionBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HibernateApp.class)
+                .profiles("benchmark")
+                .run(args)) {
+            StudentDAO studentDAO = context.getBean(StudentDAO.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            List<Student> chunk = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                chunk.add(new Student("First" + i, "Last" + i, i % 2 == 0 ? "CSE" : "ECE", i % 1500));
+                if (chunk.size() == 10_000 || i == rows - 1) {
+                    studentDAO.saveAll(chunk);
+                    chunk = new ArrayList<>();
+                }
+            }
+
+            for (int round = 1; round <= rounds; round++) {
+                // Later rounds are the steady-state numbers; the first ones include JIT warm-up
+                System.out.println("Round " + round);
+                measure("entities (findAll)", transaction, studentDAO::findAll);
+                measure("projection (findAllSummaries)", transaction, studentDAO::findAllSummaries);
+            }
+        }
+    }
+
+    private static void measure(String label, TransactionTemplate transaction, Supplier<List<?>> query) {
+        transaction.executeWithoutResult(status -> {
+            long baseline = usedHeapAfterGc();
+            long thread = Thread.currentThread().threadId();
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+            long cpuBefore = THREADS.getCurrentThreadCpuTime();
+
+            List<?> result = query.get();
+
+            long cpu = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+            long allocated = THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+            long retained = usedHeapAfterGc() - baseline;
+
+            double per100k = 100_000.0 / result.size();
+            System.out.printf("  %-30s allocated %,8.1f MB   retained %,7.1f MB   cpu %,7.1f ms   (per 100k rows)%n",
+                    label, allocated * per100k / 1e6, retained * per100k / 1e6, cpu * per100k / 1e6);
+        });
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
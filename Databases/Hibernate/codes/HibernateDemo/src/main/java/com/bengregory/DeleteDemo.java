@@ -3,18 +3,14 @@ package com.bengregory;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
-import org.hibernate.cfg.Configuration;
 
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
 public class DeleteDemo {
     public static void main(String[] args) {
 
-        // Create SessionFactory with annotated class and configuration
-        SessionFactory sf = new Configuration()
-                .addAnnotatedClass(Student.class)
-                .configure()
-                .buildSessionFactory();
+        // Get the shared SessionFactory
+        SessionFactory sf = HibernateUtil.getSessionFactory();
 
         // Create session
         Session session = sf.openSession();
@@ -32,7 +28,7 @@ public class DeleteDemo {
         transaction.commit();
 
         session.close();
-        sf.close();
+        HibernateUtil.shutdown();
 
         if (student1 != null) {
             System.out.println(student1);
@@ -2,18 +2,13 @@ package com.bengregory;
 
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.cfg.Configuration;
-import org.hibernate.query.Query;
 
 import java.util.List;
 
 public class HQLDemo {
     public static void main(String args[]){
-        // Create SessionFactory with annotated class and configuration
-        SessionFactory sf = new Configuration()
-                .addAnnotatedClass(com.bengregory.Student.class)
-                .configure()
-                .buildSessionFactory();
+        // Get the shared SessionFactory
+        SessionFactory sf = HibernateUtil.getSessionFactory();
 
         // Create session
         Session session = sf.openSession();
@@ -21,24 +16,17 @@ public class HQLDemo {
         // Normal SQL query for select statement: SELECT * FROM Student WHERE age = 20;
         // HQL query for the same is: FROM Student WHERE age = 20
 
-        // use createQuery(String queryString, Class<T> resultType) from the session object for non parameterized queries
-        // use createQuery(String queryString) from the session object for parameterized queries
-        Query query  = session.createQuery("SELECT name, age FROM Student WHERE age = :age");
-
-        // Setting the parameter
-        query.setParameter("age", 20);
-
-        // Execute query and get result list
-        // We are using Object[] because we are selecting multiple fields (name and age)
-        List<Object[]> students = query.getResultList();
+        // The query text lives in a @NamedQuery on Student, so Hibernate parses and checks it once at startup
+        // StudentQueries binds the parameter and returns typed StudentNameAge records instead of Object[]
+        List<StudentNameAge> students = StudentQueries.namesByAge(session, 20);
 
         // Print the results
-        for(Object[] student: students){
-            System.out.println((String)student[0] + " " + student[1]);
+        for(StudentNameAge student: students){
+            System.out.println(student.name() + " " + student.age());
         }
 
         // Close session and factory
         session.close();
-        sf.close();
+        HibernateUtil.shutdown();
     }
 }
@@ -0,0 +1,53 @@
+package com.bengregory;
+
+import com.bengregory.mapping.Employee;
+import com.bengregory.mapping.Laptops;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+// One SessionFactory for the whole process.
+// Building it parses hibernate.cfg.xml, scans the entity metadata and starts the connection pool,
+// which takes seconds, so every demo shares this instance instead of building its own.
+public class HibernateUtil {
+
+    private HibernateUtil() {
+    }
+
+    // Initialization-on-demand holder: the JVM builds the factory on first access, exactly once, without locking
+    private static class Holder {
+        private static final SessionFactory SESSION_FACTORY = buildSessionFactory();
+    }
+
+    public static SessionFactory getSessionFactory() {
+        return Holder.SESSION_FACTORY;
+    }
+
+    // hibernate.cfg.xml unless -Dhibernate.cfg=<resource> names another one, e.g. the in-memory H2
+    // configuration in src/test/resources that the benchmarks can run against
+    public static String configResource() {
+        return System.getProperty("hibernate.cfg", "hibernate.cfg.xml");
+    }
+
+    // Configuration with every entity of this project registered
+    public static Configuration configuration() {
+        return new Configuration()
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(Employee.class)
+                .addAnnotatedClass(Laptops.class)
+                .configure(configResource());
+    }
+
+    // Closes the factory and its connection pool; call once at the end of the program
+    public static void shutdown() {
+        getSessionFactory().close();
+    }
+
+    private static SessionFactory buildSessionFactory() {
+        SessionFactory sessionFactory = configuration().buildSessionFactory();
+        // Release the pool even if a demo forgets to call shutdown()
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (sessionFactory.isOpen()) sessionFactory.close();
+        }));
+        return sessionFactory;
+    }
+}
@@ -3,7 +3,6 @@ package com.bengregory;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
-import org.hibernate.cfg.Configuration;
 
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
@@ -19,12 +18,8 @@ public class InsertionDemo {
         student1.setAge(20);
         student1.setDepartment("Bcom");
 
-        // Configuring Hibernate
-        Configuration cfg = new Configuration(); // Creating Configuration object
-        cfg.addAnnotatedClass(com.bengregory.Student.class); // Registering the Student class as an annotated entity
-        cfg.configure(); // Configuring Hibernate using the default hibernate.cfg.xml file
-
-        SessionFactory sf = cfg.buildSessionFactory(); // Building SessionFactory from Configuration
+        // Configuring Hibernate: HibernateUtil registers the entities, reads hibernate.cfg.xml and builds the SessionFactory once
+        SessionFactory sf = HibernateUtil.getSessionFactory(); // Getting the shared SessionFactory
         Session session = sf.openSession(); // Opening a new Session
 
         Transaction transaction = session.beginTransaction(); // Starting a new transaction
@@ -32,6 +27,7 @@ public class InsertionDemo {
 
         transaction.commit(); // Committing the transaction
         session.close(); //
+        HibernateUtil.shutdown(); // Closing the SessionFactory and its connection pool
         System.out.println(student1);
         System.out.println(student1.getName() + " is added!");
 
@@ -5,10 +5,6 @@ import com.bengregory.mapping.Laptops;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
-import org.hibernate.cfg.Configuration;
-
-import java.lang.reflect.Array;
-import java.util.Arrays;
 
 public class OneToManyDemo {
     public static void main(String args[]){
@@ -29,28 +25,21 @@ public class OneToManyDemo {
         employee1.setEmployeeId(101);
         employee1.setName("Ben Gregory");
         employee1.setTechUsed("Java");
-        employee1.setLaptops(Arrays.asList(laptop1, laptop2));
-
-        laptop1.setEmployee(employee1);
-        laptop2.setEmployee(employee1);
+        employee1.addLaptop(laptop1);
+        employee1.addLaptop(laptop2);
 
-        SessionFactory sf = new Configuration()
-                .configure()
-                .addAnnotatedClass(com.bengregory.mapping.Laptops.class)
-                .addAnnotatedClass(com.bengregory.mapping.Employee.class)
-                .buildSessionFactory();
+        SessionFactory sf = HibernateUtil.getSessionFactory();
 
         Session session = sf.openSession();
 
         Transaction transaction = session.beginTransaction();
-        session.persist(laptop1);
-        session.persist(laptop2);
+        // The laptops are persisted through the cascade on Employee.laptops
         session.persist(employee1);
 
         transaction.commit();
 
         session.close();
-        sf.close();
+        HibernateUtil.shutdown();
 
     }
 }
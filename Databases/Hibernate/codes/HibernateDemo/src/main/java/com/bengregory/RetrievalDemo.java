@@ -2,18 +2,14 @@ package com.bengregory;
 
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.cfg.Configuration;
 
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
 public class RetrievalDemo {
     public static void main(String[] args) {
         
-        // Create SessionFactory with annotated class and configuration
-        SessionFactory sf = new Configuration()
-                .addAnnotatedClass(com.bengregory.Student.class)
-                .configure()
-                .buildSessionFactory();
+        // Get the shared SessionFactory
+        SessionFactory sf = HibernateUtil.getSessionFactory();
         
         // Create session
         Session session = sf.openSession();
@@ -23,7 +19,7 @@ public class RetrievalDemo {
         
         // Close session
         session.close();
-        sf.close();
+        HibernateUtil.shutdown();
 
         if (student2 != null) {
             System.out.println(student2.getName() + " is retrieved!");
@@ -2,8 +2,14 @@ package com.bengregory;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedQuery;
 
 @Entity // This annotation marks the class as a persistent entity, which means it will be mapped to a database table.
+// Named HQL queries are checked when the SessionFactory is built; use them through StudentQueries
+@NamedQuery(name = StudentQueries.NAMES_BY_AGE,
+        query = "SELECT new com.bengregory.StudentNameAge(s.name, s.age) FROM Student s WHERE s.age = :age")
+@NamedQuery(name = StudentQueries.BY_DEPARTMENT_PAGE,
+        query = "FROM Student s WHERE s.department = :department AND s.id > :afterId ORDER BY s.id")
 public class Student {
     @Id // This annotation specifies the primary key of the entity.
     private int id;
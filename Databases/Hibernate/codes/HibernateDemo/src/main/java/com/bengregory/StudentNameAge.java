@@ -0,0 +1,5 @@
+package com.bengregory;
+
+// Typed row for "SELECT name, age FROM Student" instead of an Object[] cast by hand
+public record StudentNameAge(String name, int age) {
+}
@@ -0,0 +1,33 @@
+package com.bengregory;
+
+import org.hibernate.Session;
+
+import java.util.List;
+
+// Typed access to the named HQL queries declared on Student.
+// Named queries are parsed and validated against the entity model once, when the SessionFactory is built
+// (a typo fails at startup, not at the first call), and every execution re-uses the prepared query plan.
+public class StudentQueries {
+
+    public static final String NAMES_BY_AGE = "Student.namesByAge";
+    public static final String BY_DEPARTMENT_PAGE = "Student.byDepartmentPage";
+
+    private StudentQueries() {
+    }
+
+    public static List<StudentNameAge> namesByAge(Session session, int age) {
+        return session.createNamedQuery(NAMES_BY_AGE, StudentNameAge.class)
+                .setParameter("age", age)
+                .getResultList();
+    }
+
+    // Keyset pagination: pass 0 for the first page, then the id of the last student of the previous page.
+    // The page bound is a query parameter, so every page runs the same cached plan.
+    public static List<Student> byDepartment(Session session, String department, int afterId, int pageSize) {
+        return session.createNamedQuery(BY_DEPARTMENT_PAGE, Student.class)
+                .setParameter("department", department)
+                .setParameter("afterId", afterId)
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+}
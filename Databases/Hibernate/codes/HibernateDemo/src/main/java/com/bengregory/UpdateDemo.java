@@ -3,7 +3,6 @@ package com.bengregory;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
-import org.hibernate.cfg.Configuration;
 
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
@@ -17,11 +16,8 @@ public class UpdateDemo {
         student1.setAge(21);
         student1.setDepartment("BCom");
 
-        // Create SessionFactory with annotated class and configuration
-        SessionFactory sf = new Configuration()
-                .addAnnotatedClass(Student.class)
-                .configure()
-                .buildSessionFactory();
+        // Get the shared SessionFactory
+        SessionFactory sf = HibernateUtil.getSessionFactory();
 
         Session session = sf.openSession();
 
@@ -35,7 +31,7 @@ public class UpdateDemo {
         transaction.commit();
 
         session.close();
-        sf.close();
+        HibernateUtil.shutdown();
 
         System.out.println(student1);
         System.out.println(student1.getName() + " is updated!");
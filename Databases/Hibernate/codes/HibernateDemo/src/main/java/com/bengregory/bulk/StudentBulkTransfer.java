@@ -0,0 +1,78 @@
+package com.bengregory.bulk;
+
+import com.bengregory.Student;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// ETL-style export and import of Student rows through a StatelessSession.
+// A StatelessSession has no first-level cache, no dirty-checking snapshots and no cascades:
+// each row is read or written once and immediately forgotten, so memory does not grow with the table.
+public class StudentBulkTransfer {
+
+    private final SessionFactory sf;
+    private final int batchSize;
+
+    public StudentBulkTransfer(SessionFactory sf, int batchSize) {
+        this.sf = sf;
+        this.batchSize = batchSize;
+    }
+
+    // Streams the whole table to a CSV file with a forward-only cursor; returns the number of rows written
+    public long exportCsv(Path file) {
+        return exportCsv(file, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    // Same, for the students with fromId <= id <= toId only
+    public long exportCsv(Path file, int fromId, int toId) {
+        try (StatelessSession session = sf.openStatelessSession();
+             StudentCsv.Writer writer = StudentCsv.open(file)) {
+            // Drivers like PostgreSQL only use a server-side cursor (honour the fetch size) inside a transaction
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Student> results = session
+                    .createSelectionQuery("FROM Student WHERE id BETWEEN :from AND :to ORDER BY id", Student.class)
+                    .setParameter("from", fromId)
+                    .setParameter("to", toId)
+                    .setFetchSize(batchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    writer.write(results.get());
+                }
+            }
+            transaction.commit();
+            return writer.rows();
+        }
+    }
+
+    // Inserts every row of a CSV file in JDBC batches of batchSize, in one transaction; returns the number of rows
+    public long importCsv(Path file) {
+        try (StatelessSession session = sf.openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = session.beginTransaction();
+            try {
+                List<Student> batch = new ArrayList<>(batchSize);
+                long rows = StudentCsv.read(file, student -> {
+                    batch.add(student);
+                    if (batch.size() == batchSize) {
+                        session.insertMultiple(batch);
+                        batch.clear();
+                    }
+                });
+                if (!batch.isEmpty()) {
+                    session.insertMultiple(batch);
+                }
+                transaction.commit();
+                return rows;
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+}
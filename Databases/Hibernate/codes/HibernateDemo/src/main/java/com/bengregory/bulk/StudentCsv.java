@@ -0,0 +1,225 @@
+package com.bengregory.bulk;
+
+import com.bengregory.Student;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// CSV format for Student rows (id,name,age,department), read and written through NIO FileChannels.
+// Fields containing a comma, quote or line break are quoted, with quotes doubled.
+// A null name or department is written as an unquoted \N; an empty field is an empty string.
+public class StudentCsv {
+
+    public static final String HEADER = "id,name,age,department";
+
+    // Same marker PostgreSQL's COPY uses in text format; a real "\N" string is quoted so it stays a string
+    public static final String NULL_MARKER = "\\N";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private StudentCsv() {
+    }
+
+    public static Writer open(Path file) {
+        return new Writer(file);
+    }
+
+    // Streams every row of the file to the consumer and returns the number of rows
+    public static long read(Path file, Consumer<Student> consumer) {
+        long rows = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8)) {
+            Chars chars = new Chars(reader);
+            parse(chars); // header
+            List<String> fields;
+            while ((fields = parse(chars)) != null) {
+                if (fields.isEmpty()) continue;
+
+                Student student = new Student();
+                student.setId(Integer.parseInt(fields.get(0)));
+                student.setName(fields.get(1));
+                student.setAge(Integer.parseInt(fields.get(2)));
+                student.setDepartment(fields.get(3));
+                consumer.accept(student);
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    // Writes rows into a reusable direct buffer and hands it to the channel whenever it fills up
+    public static class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final StringBuilder line = new StringBuilder(128);
+        private long rows;
+
+        private Writer(Path file) {
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                line.append(HEADER).append('\n');
+                flushLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void write(Student student) {
+            line.append(student.getId()).append(',');
+            appendField(student.getName());
+            line.append(',').append(student.getAge()).append(',');
+            appendField(student.getDepartment());
+            line.append('\n');
+            try {
+                flushLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        @Override
+        public void close() {
+            try {
+                drain();
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void appendField(String value) {
+            if (value == null) {
+                line.append(NULL_MARKER);
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0
+                    && !value.equals(NULL_MARKER)) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') line.append('"');
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void flushLine() throws IOException {
+            CharBuffer chars = CharBuffer.wrap(line);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else {
+                    break;
+                }
+            }
+            line.setLength(0);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Reads one record. Line breaks inside quotes belong to the field exactly as written (\r\n stays \r\n),
+    // outside quotes \n or \r\n ends the record. Returns null at end of file, an empty list for a blank line.
+    // An unquoted NULL_MARKER comes back as null.
+    private static List<String> parse(Chars chars) throws IOException {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int c = chars.next();
+        if (c < 0) return null;
+        for (; c >= 0; c = chars.next()) {
+            if (quoted) {
+                if (c == '"') {
+                    if (chars.peek() == '"') {
+                        field.append('"');
+                        chars.next();
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(value(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r' || chars.peek() != '\n') {
+                field.append((char) c);
+            }
+        }
+        if (quoted) throw new IOException("Unterminated quoted field at end of file");
+        if (fields.isEmpty() && field.isEmpty() && !wasQuoted) return List.of();
+        fields.add(value(field, wasQuoted));
+        return fields;
+    }
+
+    private static String value(StringBuilder field, boolean wasQuoted) {
+        return !wasQuoted && NULL_MARKER.contentEquals(field) ? null : field.toString();
+    }
+
+    // Hands out characters from a block buffer, so scanning costs an array read per character
+    private static final class Chars {
+
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        Chars(Reader reader) {
+            this.reader = reader;
+        }
+
+        int next() throws IOException {
+            int c = peek();
+            if (c >= 0) position++;
+            return c;
+        }
+
+        int peek() throws IOException {
+            if (position == limit) {
+                limit = Math.max(reader.read(buffer), 0);
+                position = 0;
+                if (limit == 0) return -1;
+            }
+            return buffer[position];
+        }
+    }
+}
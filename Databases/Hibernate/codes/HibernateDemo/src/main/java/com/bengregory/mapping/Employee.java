@@ -1,20 +1,43 @@
 package com.bengregory.mapping;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.FetchProfile;
+import org.hibernate.annotations.FetchProfileOverride;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// Entity graph that loads the laptops together with the employee (see EmployeeQueries)
+@NamedEntityGraph(name = Employee.WITH_LAPTOPS_GRAPH, attributeNodes = @NamedAttributeNode("laptops"))
+// Fetch profile that loads every employee's laptops in one extra query, re-using the employee query as a subselect
+@FetchProfile(name = Employee.LAPTOPS_SUBSELECT_PROFILE)
+// Laptops.employee proxies are also initialized up to 100 at a time
+@BatchSize(size = 100)
 public class Employee {
 
+    public static final String WITH_LAPTOPS_GRAPH = "Employee.withLaptops";
+    public static final String LAPTOPS_SUBSELECT_PROFILE = "employee-laptops-subselect";
+
     @Id
     private int employeeId;
     private String name;
     private String techUsed;
 
-    @OneToMany(mappedBy = "employee")
+    // Lazy by default; when several employees are loaded, touching one collection initializes the laptops
+    // of up to 100 of them with a single IN query instead of one query per employee (the N+1 problem)
+    // Persisting an employee also persists its laptops, so a whole graph is saved with one persist() call
+    @OneToMany(mappedBy = "employee", cascade = CascadeType.PERSIST)
+    @BatchSize(size = 100)
+    @FetchProfileOverride(profile = LAPTOPS_SUBSELECT_PROFILE, mode = FetchMode.SUBSELECT, fetch = FetchType.EAGER)
     private List<Laptops> laptops;
 
     public List<Laptops> getLaptops() {
@@ -25,6 +48,13 @@ public class Employee {
         this.laptops = laptops;
     }
 
+    // Adds the laptop and sets its owning side, which is the side Hibernate writes to laptops.employee_employeeId
+    public void addLaptop(Laptops laptop) {
+        if (laptops == null) laptops = new ArrayList<>();
+        laptops.add(laptop);
+        laptop.setEmployee(this);
+    }
+
     public int getEmployeeId() {
         return employeeId;
     }
@@ -0,0 +1,49 @@
+package com.bengregory.mapping;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.util.Iterator;
+
+// Bulk import of Employee graphs (employee + laptops).
+// Each employee is persisted once and its laptops follow through the cascade; with
+// hibernate.jdbc.batch_size and order_inserts the INSERTs go out as per-table JDBC batches.
+// Every chunkSize employees the session is flushed and cleared, so memory stays flat for any import size.
+public class EmployeeImporter {
+
+    private final SessionFactory sf;
+    private final int chunkSize;
+
+    public EmployeeImporter(SessionFactory sf, int chunkSize) {
+        this.sf = sf;
+        this.chunkSize = chunkSize;
+    }
+
+    // Imports everything in one transaction and returns the number of rows inserted (employees + laptops)
+    public long importAll(Iterator<Employee> employees) {
+        long rows = 0;
+        try (Session session = sf.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                int inChunk = 0;
+                while (employees.hasNext()) {
+                    Employee employee = employees.next();
+                    session.persist(employee);
+                    rows += 1 + (employee.getLaptops() == null ? 0 : employee.getLaptops().size());
+
+                    if (++inChunk == chunkSize) {
+                        session.flush();
+                        session.clear();
+                        inChunk = 0;
+                    }
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bengregory.mapping;
+
+import org.hibernate.Session;
+import org.hibernate.graph.GraphSemantic;
+
+import java.util.List;
+
+// Ways of loading employees together with their laptops without running one query per employee
+public class EmployeeQueries {
+
+    private EmployeeQueries() {
+    }
+
+    // One query: employees LEFT JOIN laptops. Hibernate removes the duplicated employee rows.
+    // Don't combine with setMaxResults(); Hibernate would have to page in memory.
+    public static List<Employee> findAllWithLaptopsFetchJoin(Session session) {
+        return session.createQuery(
+                        "SELECT e FROM Employee e LEFT JOIN FETCH e.laptops ORDER BY e.employeeId", Employee.class)
+                .getResultList();
+    }
+
+    // Same single join as above, but the fetch plan comes from @NamedEntityGraph instead of the query text
+    public static List<Employee> findAllWithLaptopsEntityGraph(Session session) {
+        return session.createQuery("FROM Employee e ORDER BY e.employeeId", Employee.class)
+                .setEntityGraph(session.createEntityGraph(Employee.class, Employee.WITH_LAPTOPS_GRAPH), GraphSemantic.FETCH)
+                .getResultList();
+    }
+
+    // Plain query; the laptops are loaded lazily in groups of @BatchSize employees (1 + N/100 queries)
+    public static List<Employee> findAllBatchFetched(Session session) {
+        return session.createQuery("FROM Employee e ORDER BY e.employeeId", Employee.class)
+                .getResultList();
+    }
+
+    // Two queries: the employees, then all of their laptops WHERE employee_id IN (the first query)
+    public static List<Employee> findAllSubselectFetched(Session session) {
+        session.enableFetchProfile(Employee.LAPTOPS_SUBSELECT_PROFILE);
+        try {
+            return session.createQuery("FROM Employee e ORDER BY e.employeeId", Employee.class)
+                    .getResultList();
+        } finally {
+            session.disableFetchProfile(Employee.LAPTOPS_SUBSELECT_PROFILE);
+        }
+    }
+}
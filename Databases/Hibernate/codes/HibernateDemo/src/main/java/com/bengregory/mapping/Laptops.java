@@ -1,6 +1,7 @@
 package com.bengregory.mapping;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 
@@ -12,7 +13,8 @@ public class Laptops {
     private String model;
     private int ram;
 
-    @ManyToOne
+    // @ManyToOne is eager by default, which costs an extra select per distinct employee when laptops are queried
+    @ManyToOne(fetch = FetchType.LAZY)
     private Employee employee;
 
     public Employee getEmployee(){
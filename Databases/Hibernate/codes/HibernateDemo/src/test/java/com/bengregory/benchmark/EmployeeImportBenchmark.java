@@ -0,0 +1,113 @@
+package com.bengregory.benchmark;
+
+import com.bengregory.HibernateUtil;
+import com.bengregory.mapping.Employee;
+import com.bengregory.mapping.EmployeeImporter;
+import com.bengregory.mapping.Laptops;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.util.Iterator;
+
+// Imports an org of employees with several laptops each and prints rows per second for:
+//  1. the OneToManyDemo way: one transaction per employee, every entity persisted separately
+//  2. EmployeeImporter:      one transaction, cascaded persist, batched inserts, flush/clear per chunk
+// Writes to the database in hibernate.cfg.xml. Employee ids start at FIRST_ID and laptop ids at
+// FIRST_ID * laptopsPerEmployee, well clear of the demo rows (OneToManyDemo uses 101 and 1/2), and only
+// those ranges are deleted, before the run (left over from an aborted one) and after it.
+// Usage: EmployeeImportBenchmark [employees] [laptopsPerEmployee] [chunkSize]    defaults: 100000 3 500
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.benchmark.EmployeeImportBenchmark
+//           (add -Dhibernate.cfg=hibernate-h2.cfg.xml to use an in-memory H2 database instead of PostgreSQL)
+public class EmployeeImportBenchmark {
+
+    private static final int FIRST_ID = 1_000_000;
+
+    public static void main(String[] args) {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int laptopsPerEmployee = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long rows = (long) employees * (1 + laptopsPerEmployee);
+
+        SessionFactory sf = HibernateUtil.getSessionFactory();
+        // Both runs together use employee ids FIRST_ID .. FIRST_ID + 2 * employees - 1
+        int lastId = FIRST_ID + 2 * employees - 1;
+        cleanUp(sf, lastId, laptopsPerEmployee);
+
+        // 1. One transaction per employee graph
+        long start = System.nanoTime();
+        Iterator<Employee> graphs = org(FIRST_ID, employees, laptopsPerEmployee);
+        while (graphs.hasNext()) {
+            Employee employee = graphs.next();
+            try (Session session = sf.openSession()) {
+                Transaction transaction = session.beginTransaction();
+                for (Laptops laptop : employee.getLaptops()) {
+                    session.persist(laptop);
+                }
+                session.persist(employee);
+                transaction.commit();
+            }
+        }
+        report("persist per employee", rows, System.nanoTime() - start);
+
+        // 2. Bulk importer (ids continue after the first run)
+        start = System.nanoTime();
+        new EmployeeImporter(sf, chunkSize).importAll(org(FIRST_ID + employees, employees, laptopsPerEmployee));
+        report("EmployeeImporter", rows, System.nanoTime() - start);
+
+        cleanUp(sf, lastId, laptopsPerEmployee);
+        HibernateUtil.shutdown();
+    }
+
+    // Generates the employees lazily, so the benchmark never holds the whole org in memory
+    private static Iterator<Employee> org(int firstId, int employees, int laptopsPerEmployee) {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < employees;
+            }
+
+            @Override
+            public Employee next() {
+                int id = firstId + next++;
+                Employee employee = new Employee();
+                employee.setEmployeeId(id);
+                employee.setName("Employee " + id);
+                employee.setTechUsed("Java");
+
+                for (int l = 0; l < laptopsPerEmployee; l++) {
+                    Laptops laptop = new Laptops();
+                    laptop.setLaptopId(id * laptopsPerEmployee + l);
+                    laptop.setBrand("Brand " + l);
+                    laptop.setModel("Model " + l);
+                    laptop.setRam(16);
+                    employee.addLaptop(laptop);
+                }
+                return employee;
+            }
+        };
+    }
+
+    // Removes only the benchmark's own id ranges; laptops first, they reference their employee
+    private static void cleanUp(SessionFactory sf, int lastId, int laptopsPerEmployee) {
+        try (Session session = sf.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createMutationQuery("DELETE FROM Laptops WHERE laptopId BETWEEN :first AND :last")
+                    .setParameter("first", FIRST_ID * laptopsPerEmployee)
+                    .setParameter("last", (lastId + 1) * laptopsPerEmployee - 1)
+                    .executeUpdate();
+            session.createMutationQuery("DELETE FROM Employee WHERE employeeId BETWEEN :first AND :last")
+                    .setParameter("first", FIRST_ID)
+                    .setParameter("last", lastId)
+                    .executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    private static void report(String label, long rows, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-25s %,d rows in %.1fs = %,.0f rows/s%n", label, rows, seconds, rows / seconds);
+    }
+}
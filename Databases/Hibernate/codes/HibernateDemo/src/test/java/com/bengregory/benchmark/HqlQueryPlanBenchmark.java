@@ -0,0 +1,102 @@
+package com.bengregory.benchmark;
+
+import com.bengregory.HibernateUtil;
+import com.bengregory.Student;
+import com.bengregory.StudentNameAge;
+import com.bengregory.StudentQueries;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Cost of parsing/planning HQL under repeated execution, per call:
+//  1. ad-hoc, value concatenated: a new query string every call, so it is parsed and planned every time
+//  2. ad-hoc, bound parameter:    same string each call, served from the query plan cache after the first parse
+//  3. named query:                parsed once at SessionFactory build time (StudentQueries)
+// Each variant is timed for creating the query only, and for creating plus executing it.
+// Inserts a few rows into the Student table of the database in hibernate.cfg.xml and removes them again.
+// Usage: HqlQueryPlanBenchmark [iterations]    default: 200000
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.benchmark.HqlQueryPlanBenchmark
+//           (add -Dhibernate.cfg=hibernate-h2.cfg.xml to use an in-memory H2 database instead of PostgreSQL)
+public class HqlQueryPlanBenchmark {
+
+    private static final int FIRST_ID = 900_000;
+    private static final int ROWS = 100;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        SessionFactory sf = HibernateUtil.getSessionFactory();
+        insertRows(sf);
+
+        try (Session session = sf.openSession()) {
+            // The extra "s.id <> -i" makes every concatenated string unique, as with user-supplied values
+            IntFunction<SelectionQuery<StudentNameAge>> concatenated = i -> session.createQuery(
+                    "SELECT new com.bengregory.StudentNameAge(s.name, s.age) FROM Student s WHERE s.age = " + age(i)
+                            + " AND s.id <> " + (-i),
+                    StudentNameAge.class);
+            IntFunction<SelectionQuery<StudentNameAge>> parameterized = i -> session.createQuery(
+                    "SELECT new com.bengregory.StudentNameAge(s.name, s.age) FROM Student s WHERE s.age = :age",
+                    StudentNameAge.class).setParameter("age", age(i));
+            IntFunction<SelectionQuery<StudentNameAge>> named = i -> session
+                    .createNamedQuery(StudentQueries.NAMES_BY_AGE, StudentNameAge.class).setParameter("age", age(i));
+
+            for (int round = 1; round <= 2; round++) {
+                // Round 1 includes JIT warm-up; round 2 is the steady state
+                System.out.println("Round " + round);
+                time("ad-hoc concatenated, create", iterations, i -> concatenated.apply(i));
+                time("ad-hoc parameterized, create", iterations, i -> parameterized.apply(i));
+                time("named query, create", iterations, i -> named.apply(i));
+                time("ad-hoc concatenated, execute", iterations / 10, i -> concatenated.apply(i).getResultList());
+                time("ad-hoc parameterized, execute", iterations / 10, i -> parameterized.apply(i).getResultList());
+                time("named query, execute", iterations / 10, i -> named.apply(i).getResultList());
+            }
+        }
+
+        deleteRows(sf);
+        HibernateUtil.shutdown();
+    }
+
+    private static void time(String label, int iterations, IntFunction<Object> call) {
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            Object result = call.apply(i);
+            sink += result instanceof List<?> list ? list.size() : 1;
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("  %-32s %,10.2f us/call   (%d)%n", label, nanos / 1000.0 / iterations, sink);
+    }
+
+    private static int age(int i) {
+        return 18 + i % 40;
+    }
+
+    private static void insertRows(SessionFactory sf) {
+        try (Session session = sf.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                Student student = new Student();
+                student.setId(FIRST_ID + i);
+                student.setName("Benchmark " + i);
+                student.setAge(18 + i % 40);
+                student.setDepartment("BSc");
+                session.persist(student);
+            }
+            transaction.commit();
+        }
+    }
+
+    private static void deleteRows(SessionFactory sf) {
+        try (Session session = sf.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createMutationQuery("DELETE FROM Student WHERE id BETWEEN :first AND :last")
+                    .setParameter("first", FIRST_ID)
+                    .setParameter("last", FIRST_ID + ROWS - 1)
+                    .executeUpdate();
+            transaction.commit();
+        }
+    }
+}
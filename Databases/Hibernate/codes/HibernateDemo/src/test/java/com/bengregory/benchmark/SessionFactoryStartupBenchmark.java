@@ -0,0 +1,77 @@
+package com.bengregory.benchmark;
+
+import com.bengregory.HibernateUtil;
+import com.bengregory.Student;
+import com.bengregory.mapping.Employee;
+import com.bengregory.mapping.Laptops;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+
+// Compares what it costs to get a usable SessionFactory:
+//  1. cold:     new Configuration()...buildSessionFactory() every time (what each demo used to do)
+//  2. cached:   the service registry (configuration, JDBC environment, connection pool) is built once
+//               and reused, only the mapping metadata and the factory are built each time
+//  3. shared:   HibernateUtil.getSessionFactory(), built on the first call and returned afterwards
+// Usage: SessionFactoryStartupBenchmark [iterations]    default: 5
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.benchmark.SessionFactoryStartupBenchmark
+//           (add -Dhibernate.cfg=hibernate-h2.cfg.xml to use an in-memory H2 database instead of PostgreSQL)
+public class SessionFactoryStartupBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        // 1. Cold construction
+        long total = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            SessionFactory sf = HibernateUtil.configuration().buildSessionFactory();
+            total += System.nanoTime() - start;
+            sf.close();
+        }
+        report("cold Configuration build", total / iterations);
+
+        // 2. Cached bootstrap: hibernate.cfg.xml, the JDBC environment and the connection pool are set up once.
+        //    (A Metadata instance can only build one SessionFactory, so the mapping is re-read each time.)
+        // disableAutoClose(): closing a SessionFactory must not tear down the registry we want to reuse
+        long start = System.nanoTime();
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().disableAutoClose()
+                .configure(HibernateUtil.configResource()).build();
+        report("service registry (once)", System.nanoTime() - start);
+
+        total = 0;
+        for (int i = 0; i < iterations; i++) {
+            start = System.nanoTime();
+            SessionFactory sf = new MetadataSources(registry)
+                    .addAnnotatedClass(Student.class)
+                    .addAnnotatedClass(Employee.class)
+                    .addAnnotatedClass(Laptops.class)
+                    .buildMetadata()
+                    .buildSessionFactory();
+            total += System.nanoTime() - start;
+            sf.close();
+        }
+        report("build on cached registry", total / iterations);
+        StandardServiceRegistryBuilder.destroy(registry);
+
+        // 3. Shared factory: the first call pays the build, the rest are a field read
+        start = System.nanoTime();
+        HibernateUtil.getSessionFactory();
+        report("shared factory, first call", System.nanoTime() - start);
+
+        total = 0;
+        for (int i = 0; i < iterations; i++) {
+            start = System.nanoTime();
+            HibernateUtil.getSessionFactory();
+            total += System.nanoTime() - start;
+        }
+        report("shared factory, later calls", total / iterations);
+
+        HibernateUtil.shutdown();
+    }
+
+    private static void report(String label, long nanos) {
+        System.out.printf("%-30s %,12.3f ms%n", label, nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bengregory.benchmark;
+
+import com.bengregory.HibernateUtil;
+import com.bengregory.Student;
+import com.bengregory.bulk.StudentBulkTransfer;
+import com.bengregory.bulk.StudentCsv;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Export/import throughput of Student rows: regular Session (as in InsertionDemo/RetrievalDemo)
+// versus StudentBulkTransfer's StatelessSession. Both write/read the same CSV format.
+// Works on the Student table of the database in hibernate.cfg.xml, but only on ids from FIRST_ID upwards,
+// so the rows the other demos read (InsertionDemo, RetrievalDemo, HQLDemo) are never touched.
+// Usage: StudentBulkTransferBenchmark [rows] [batchSize]    defaults: 500000 1000
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.benchmark.StudentBulkTransferBenchmark
+//           (add -Dhibernate.cfg=hibernate-h2.cfg.xml to use an in-memory H2 database instead of PostgreSQL)
+public class StudentBulkTransferBenchmark {
+
+    // Above HqlQueryPlanBenchmark's rows, which start at 900000
+    private static final int FIRST_ID = 2_000_000;
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        int lastId = FIRST_ID + rows - 1;
+        SessionFactory sf = HibernateUtil.getSessionFactory();
+        StudentBulkTransfer transfer = new StudentBulkTransfer(sf, batchSize);
+        Path source = Files.createTempFile("students", ".csv");
+        Path exported = Files.createTempFile("students-export", ".csv");
+
+        try (StudentCsv.Writer writer = StudentCsv.open(source)) {
+            String[] departments = {"BCom", "BSc", "BA, Economics", "BTech"};
+            for (int id = FIRST_ID; id <= lastId; id++) {
+                Student student = new Student();
+                student.setId(id);
+                student.setName("Student " + id);
+                student.setAge(18 + id % 6);
+                student.setDepartment(departments[id % departments.length]);
+                writer.write(student);
+            }
+        }
+
+        // Import
+        deleteRange(sf, lastId);
+        long start = System.nanoTime();
+        importWithSession(sf, source, batchSize);
+        report("import, Session", rows, System.nanoTime() - start);
+
+        deleteRange(sf, lastId);
+        start = System.nanoTime();
+        transfer.importCsv(source);
+        report("import, StatelessSession", rows, System.nanoTime() - start);
+
+        // Export
+        start = System.nanoTime();
+        exportWithSession(sf, exported, lastId);
+        report("export, Session", rows, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        transfer.exportCsv(exported, FIRST_ID, lastId);
+        report("export, StatelessSession", rows, System.nanoTime() - start);
+
+        System.out.println("Exported file matches the imported one: " + (Files.mismatch(source, exported) == -1));
+
+        deleteRange(sf, lastId);
+        Files.delete(source);
+        Files.delete(exported);
+        HibernateUtil.shutdown();
+    }
+
+    // persist() with flush/clear per batch: the usual way to bulk insert with a regular Session
+    private static void importWithSession(SessionFactory sf, Path file, int batchSize) {
+        try (Session session = sf.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            long[] count = {0};
+            StudentCsv.read(file, student -> {
+                session.persist(student);
+                if (++count[0] % batchSize == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            });
+            transaction.commit();
+        }
+    }
+
+    // getResultList(): every Student becomes a managed entity with a snapshot until the session closes
+    private static void exportWithSession(SessionFactory sf, Path file, int lastId) {
+        try (Session session = sf.openSession();
+             StudentCsv.Writer writer = StudentCsv.open(file)) {
+            List<Student> students = session.createQuery("FROM Student WHERE id BETWEEN :first AND :last ORDER BY id", Student.class)
+                    .setParameter("first", FIRST_ID)
+                    .setParameter("last", lastId)
+                    .getResultList();
+            for (Student student : students) {
+                writer.write(student);
+            }
+        }
+    }
+
+    private static void deleteRange(SessionFactory sf, int lastId) {
+        try (Session session = sf.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createMutationQuery("DELETE FROM Student WHERE id BETWEEN :first AND :last")
+                    .setParameter("first", FIRST_ID)
+                    .setParameter("last", lastId)
+                    .executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    private static void report(String label, int rows, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-26s %,d rows in %.1fs = %,.0f rows/s%n", label, rows, seconds, rows / seconds);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bengregory.bulk;
+
+import com.bengregory.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Writes awkward names and departments through StudentCsv and checks they read back unchanged
+class StudentCsvTest {
+
+    private static final String[] VALUES = {
+            null, "", "\\N", "\"\\N\"", "plain", "a,b", "say \"hi\"", "two\nlines", "crlf\r\nend", " padded "
+    };
+
+    @Test
+    void roundTripKeepsNullsEmptyStringsAndSpecialCharacters(@TempDir Path dir) {
+        Path file = dir.resolve("students.csv");
+        List<Student> written = new ArrayList<>();
+        try (StudentCsv.Writer writer = StudentCsv.open(file)) {
+            for (int i = 0; i < VALUES.length; i++) {
+                Student student = new Student();
+                student.setId(i + 1);
+                student.setName(VALUES[i]);
+                student.setAge(20 + i);
+                student.setDepartment(VALUES[VALUES.length - 1 - i]);
+                writer.write(student);
+                written.add(student);
+            }
+        }
+
+        List<Student> read = new ArrayList<>();
+        assertEquals(VALUES.length, StudentCsv.read(file, read::add));
+        for (int i = 0; i < written.size(); i++) {
+            assertEquals(written.get(i).getId(), read.get(i).getId());
+            assertEquals(written.get(i).getName(), read.get(i).getName(), "name of row " + (i + 1));
+            assertEquals(written.get(i).getAge(), read.get(i).getAge());
+            assertEquals(written.get(i).getDepartment(), read.get(i).getDepartment(), "department of row " + (i + 1));
+        }
+        assertNull(read.get(0).getName());
+        assertEquals("", read.get(1).getName());
+    }
+}
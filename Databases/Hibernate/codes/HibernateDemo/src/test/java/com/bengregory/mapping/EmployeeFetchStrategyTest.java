@@ -0,0 +1,112 @@
+package com.bengregory.mapping;
+
+import com.bengregory.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Loads 10k employees with 2 laptops each through every EmployeeQueries strategy and counts the SQL statements
+class EmployeeFetchStrategyTest {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int LAPTOPS_PER_EMPLOYEE = 2;
+
+    private static SessionFactory sf;
+
+    @BeforeAll
+    static void setUp() {
+        sf = HibernateUtil.configuration()
+                .setProperty("hibernate.connection.driver_class", "org.h2.Driver")
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:fetch;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.show_sql", "false")
+                .setProperty("hibernate.generate_statistics", "true")
+                .setProperty("hibernate.jdbc.batch_size", "100")
+                .buildSessionFactory();
+
+        try (Session session = sf.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            int laptopId = 1;
+            for (int e = 1; e <= EMPLOYEES; e++) {
+                Employee employee = new Employee();
+                employee.setEmployeeId(e);
+                employee.setName("Employee " + e);
+                employee.setTechUsed("Java");
+                session.persist(employee);
+
+                for (int l = 0; l < LAPTOPS_PER_EMPLOYEE; l++) {
+                    Laptops laptop = new Laptops();
+                    laptop.setLaptopId(laptopId++);
+                    laptop.setBrand("Brand " + l);
+                    laptop.setModel("Model " + l);
+                    laptop.setRam(16);
+                    laptop.setEmployee(employee);
+                    session.persist(laptop);
+                }
+
+                if (e % 100 == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sf.close();
+    }
+
+    @Test
+    void fetchJoinUsesOneStatement() {
+        assertEquals(1, statementsToLoad(EmployeeQueries::findAllWithLaptopsFetchJoin));
+    }
+
+    @Test
+    void entityGraphUsesOneStatement() {
+        assertEquals(1, statementsToLoad(EmployeeQueries::findAllWithLaptopsEntityGraph));
+    }
+
+    @Test
+    void subselectFetchUsesTwoStatements() {
+        assertEquals(2, statementsToLoad(EmployeeQueries::findAllSubselectFetched));
+    }
+
+    @Test
+    void batchFetchUsesOneStatementPerHundredEmployees() {
+        assertEquals(1 + EMPLOYEES / 100, statementsToLoad(EmployeeQueries::findAllBatchFetched));
+    }
+
+    // Runs the query, touches every laptop, and returns the number of statements Hibernate prepared
+    private long statementsToLoad(Function<Session, List<Employee>> query) {
+        Statistics statistics = sf.getStatistics();
+        try (Session session = sf.openSession()) {
+            statistics.clear();
+
+            List<Employee> employees = query.apply(session);
+            List<String> models = new ArrayList<>();
+            for (Employee employee : employees) {
+                for (Laptops laptop : employee.getLaptops()) {
+                    models.add(laptop.getModel());
+                }
+            }
+
+            assertEquals(EMPLOYEES, employees.size());
+            assertEquals(EMPLOYEES * LAPTOPS_PER_EMPLOYEE, models.size());
+            return statistics.getPrepareStatementCount();
+        }
+    }
+}
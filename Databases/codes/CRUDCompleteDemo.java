@@ -1,76 +1,61 @@
 import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class CRUDCompleteDemo {
     public static void main(String[] args){
-        String url = "jdbc:postgresql://localhost:5432/demo"; 
+        String url = "jdbc:postgresql://localhost:5432/demo";
         String user = "postgres";
-        String password = "password";    
+        String password = "password";
 
-        try {
+        // Every resource is opened in try-with-resources, so a failed statement no longer leaks the connection
+        // SQL uses ? placeholders and each statement is prepared once per connection, then reused from the cache
+        try (SimpleConnectionPool pool = new SimpleConnectionPool(url, user, password, 4);
+             Connection conn = pool.getConnection();
+             ManagementDao dao = new ManagementDao(conn)) {
             Class.forName("org.postgresql.Driver");
-
-            Connection conn = DriverManager.getConnection(url, user, password);
             System.out.println("Connected to the database successfully.");
 
-            Statement stmt = conn.createStatement();
-
-            String insertSql = """
-                INSERT INTO management (student_id, student_name, department, marks, aws_certified)
-                VALUES (8, 'Kylian Mbappe', 'CSE', 88, true)
-                """;
-
-            int rowsInserted = stmt.executeUpdate(insertSql);
+            int rowsInserted = dao.insert(new Student(8, "Kylian Mbappe", "CSE", 88), true);
             System.out.println("Insertion in Progress.. | Rows Inserted: " + rowsInserted);
 
-            String selectSql = """
-                SELECT student_id, student_name, department, marks
-                FROM management WHERE student_id = 8
-                """;
-
-            ResultSet rs = stmt.executeQuery(selectSql);
-            while(rs.next()) {
-                System.out.println(
-                    "Inserted Student ID: " + rs.getInt("student_id") +
-                    ", Name: " + rs.getString("student_name") +
-                    ", Dept: " + rs.getString("department") +
-                    ", Marks: " + rs.getInt("marks")
-                );
-            }
-            rs.close();
+            dao.findById(8).ifPresent(s -> System.out.println(
+                "Inserted Student ID: " + s.studentId() +
+                ", Name: " + s.studentName() +
+                ", Dept: " + s.department() +
+                ", Marks: " + s.marks()
+            ));
 
 
-            String updateSql = """
-                UPDATE management SET marks = 95 WHERE student_id = 8
-                """;
-
-            int rowsUpdated = stmt.executeUpdate(updateSql);
+            int rowsUpdated = dao.updateMarks(8, 95);
             System.out.println("Updation in Progress.. | Rows Updated: " + rowsUpdated);
 
-            ResultSet rsAfterUpdate = stmt.executeQuery(selectSql);
-            while(rsAfterUpdate.next()) {
-                System.out.println(
-                    "Updated Student ID: " + rsAfterUpdate.getInt("student_id") +
-                    ", Name: " + rsAfterUpdate.getString("student_name") +
-                    ", Dept: " + rsAfterUpdate.getString("department") +
-                    ", Marks: " + rsAfterUpdate.getInt("marks")
-                );
-            }
-            rsAfterUpdate.close();
-
+            dao.findById(8).ifPresent(s -> System.out.println(
+                "Updated Student ID: " + s.studentId() +
+                ", Name: " + s.studentName() +
+                ", Dept: " + s.department() +
+                ", Marks: " + s.marks()
+            ));
 
-            String deleteSql = """
-                DELETE FROM management WHERE student_id = 8
-                """;
 
-            int rowsDeleted = stmt.executeUpdate(deleteSql);
+            int rowsDeleted = dao.deleteById(8);
             System.out.println("Deletion in Progress.. | Rows Deleted: " + rowsDeleted);
 
-            stmt.close();
-            conn.close();
+
+            // Multi-row operations go out as one batch each
+            Map<Student, Boolean> newcomers = new LinkedHashMap<>();
+            newcomers.put(new Student(9, "Jude Bellingham", "ECE", 81), true);
+            newcomers.put(new Student(10, "Jamal Musiala", "IT", 84), false);
+            System.out.println("Batch Insert | Rows Inserted: " + dao.insertAll(newcomers));
+            System.out.println("Batch Update | Rows Updated: " + dao.updateMarksAll(Map.of(9, 86, 10, 89)));
+            System.out.println("Batch Delete | Rows Deleted: " + dao.deleteAllById(List.of(9, 10)));
+
+            System.out.println(dao.cacheStats());
         }
         catch (Exception e) {
             System.out.println("An error occurred:");
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
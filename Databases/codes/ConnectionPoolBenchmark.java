@@ -0,0 +1,88 @@
+// Compares DriverManager.getConnection per query against SimpleConnectionPool under concurrent load
+// Usage: java ConnectionPoolBenchmark [threads] [queriesPerThread] [poolSize]
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class ConnectionPoolBenchmark {
+
+    static final String URL = "jdbc:postgresql://localhost:5432/demo";
+    static final String USER = "postgres";
+    static final String PASSWORD = "password";
+
+    // A short indexed lookup, so the cost of obtaining the connection dominates
+    static final String QUERY = "SELECT student_name FROM management WHERE student_id = ?";
+
+    interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int queriesPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+        System.out.printf("%d threads x %d queries, pool size %d%n", threads, queriesPerThread, poolSize);
+
+        // Warm up both paths so class loading and server-side caches do not skew the first run
+        run("warm-up", () -> DriverManager.getConnection(URL, USER, PASSWORD), threads, 10);
+
+        run("DriverManager", () -> DriverManager.getConnection(URL, USER, PASSWORD), threads, queriesPerThread);
+
+        try (SimpleConnectionPool pool = new SimpleConnectionPool(URL, USER, PASSWORD, poolSize)) {
+            run("warm-up", pool::getConnection, threads, 10);
+            run("SimpleConnectionPool", pool::getConnection, threads, queriesPerThread);
+        }
+    }
+
+    static void run(String label, ConnectionSource source, int threads, int queriesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[queriesPerThread];
+                start.await();
+                for (int i = 0; i < queriesPerThread; i++) {
+                    long begin = System.nanoTime();
+                    try (Connection conn = source.get();
+                         PreparedStatement pstmt = conn.prepareStatement(QUERY)) {
+                        pstmt.setInt(1, (seed + i) % 10 + 1);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                rs.getString(1);
+                            }
+                        }
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[threads * queriesPerThread];
+        int n = 0;
+        for (Future<long[]> result : results) {
+            for (long latency : result.get()) {
+                all[n++] = latency;
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        Arrays.sort(all);
+        if (!label.equals("warm-up")) {
+            System.out.printf("%-22s %8.0f queries/s   p50 %6.2f ms   p99 %6.2f ms%n",
+                    label,
+                    all.length * 1_000_000_000.0 / elapsed,
+                    all[all.length / 2] / 1_000_000.0,
+                    all[(int) (all.length * 0.99)] / 1_000_000.0);
+        }
+    }
+}
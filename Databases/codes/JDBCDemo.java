@@ -1,4 +1,5 @@
 import java.sql.*;
+import java.util.stream.Stream;
 
 public class JDBCDemo {
     public static void main(String[] args){
@@ -8,35 +9,28 @@ public class JDBCDemo {
         String user = "postgres";
         String password = "password";
 
-        try {
+        // 2. Create a pool once - opening a connection costs far more than a short query,
+        //    so the pool hands out connections that are already open
+        try (SimpleConnectionPool pool = new SimpleConnectionPool(url, user, password, 4)) {
             // 1. Load the JDBC driver
             Class.forName("org.postgresql.Driver");
 
-            // 2. Establish the connection
-            Connection conn = DriverManager.getConnection(url, user, password);
-            System.out.println("Connected to the database successfully.");
-
-            // 3. Create a statement
-            Statement stmt = conn.createStatement();
-
-            // 4. Execute a query
-            String sql = "SELECT student_id, student_name, department, marks FROM management WHERE marks > 70";
-
-            ResultSet rs = stmt.executeQuery(sql);
-
-            // 5. Process the result set
-            while(rs.next()){
-                int id  = rs.getInt("student_id");
-                String name = rs.getString("student_name");
-                String dept = rs.getString("department");
-                int marks = rs.getInt("marks"); 
-                System.out.println("Student ID: " + id + ", Name: " + name + ", Department: " + dept + ", Marks: " + marks);
-
-            }            
-            // 6. Close the resources
-            rs.close();
-            stmt.close();
-            conn.close();
+            String sql = "SELECT student_id, student_name, department, marks FROM management WHERE marks > ?";
+
+            // 3. Borrow a connection - try-with-resources returns it to the pool even if the query fails
+            try (Connection conn = pool.getConnection()) {
+                System.out.println("Connected to the database successfully.");
+
+                // 4. Execute the query as a lazy stream - the driver fetches 500 rows per round trip
+                //    through a cursor instead of pulling the whole result into memory
+                // 5. Process the rows as they arrive, mapped to Student records
+                try (Stream<Student> students = StreamingQuery.stream(conn, sql, 500, Student::fromRow, 70)) {
+                    students.forEach(student -> System.out.println(
+                            "Student ID: " + student.studentId() + ", Name: " + student.studentName()
+                            + ", Department: " + student.department() + ", Marks: " + student.marks()));
+                }
+            }
+            // 6. Resources are closed automatically at the end of each try block
         }
         catch(Exception e){
             System.out.println("An error occurred:");
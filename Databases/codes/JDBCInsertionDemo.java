@@ -1,4 +1,8 @@
 // Practice code for JDBC insertion in Java
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 
 public class JDBCInsertionDemo {
@@ -8,57 +12,56 @@ public class JDBCInsertionDemo {
         String user = "postgres";
         String password = "password";
 
-        try{
+        // Connections come from a small pool - reWriteBatchedInserts lets the driver send a batch as multi-row INSERTs
+        try (SimpleConnectionPool pool = new SimpleConnectionPool(ManagementBulkLoader.withBatchRewrite(url), user, password, 4)) {
             // Load the JDBC driver - Optional for newer JDBC versions
             Class.forName("org.postgresql.Driver");
 
-            // Establish the connection
-            Connection conn = DriverManager.getConnection(url, user, password);
-            System.out.println("Connected to the database successfully.");
+            // try-with-resources hands the connection back to the pool even when the load fails
+            try (Connection conn = pool.getConnection()) {
+                System.out.println("Connected to the database successfully.");
 
-            // Create a statement
-            String insertSql = "INSERT INTO management (student_id, student_name, department, marks, aws_certified) VALUES (?, ?, ?, ?, ?)";
+                // Rows are read from a CSV stream, sent in batches and committed as one transaction
+                // instead of one round trip and one commit per row
+                ManagementBulkLoader loader = new ManagementBulkLoader(conn, 500);
+                ManagementBulkLoader.LoadReport report;
 
-            // We will use PreparedStatement for safer insertion
-            PreparedStatement pstmt = conn.prepareStatement(insertSql);
-            
-            // Sample data to insert
-            Object[][] students = {
-                {6, "Lionel Messi", "CSE", 90, true},
-                {7, "Pedri Gonzalez", "IT", 78, false},
-            };
-
-            for(Object[] student: students){
-                pstmt.setInt(1, (Integer)student[0]);
-                pstmt.setString(2, (String)student[1]);
-                pstmt.setString(3, (String)student[2]);
-                pstmt.setInt(4, (Integer)student[3]);
-                pstmt.setBoolean(5, (Boolean)student[4]);
-
-                int rowsAffected = pstmt.executeUpdate();
-                System.out.println("Inserted " + rowsAffected + " row(s) for student: " + student[1]);
+                if (args.length > 0) {
+                    // e.g. java JDBCInsertionDemo students.csv [copy]
+                    try (Reader csv = Files.newBufferedReader(Path.of(args[0]))) {
+                        boolean useCopy = args.length > 1 && args[1].equalsIgnoreCase("copy");
+                        report = useCopy ? loader.copy(csv) : loader.load(csv);
+                    }
+                }
+                else {
+                    // Sample data to insert
+                    String students = """
+                        student_id,student_name,department,marks,aws_certified
+                        6,Lionel Messi,CSE,90,true
+                        7,Pedri Gonzalez,IT,78,false
+                        """;
+                    report = loader.load(new StringReader(students));
+                }
+                System.out.println("Inserted " + report);
             }
 
-            // Fetching and displaying those who are AWS certified
+            // Fetching and displaying those who are AWS certified - the pool reuses the same connection
             String selectSql = "SELECT student_id, student_name, department FROM management WHERE aws_certified = true";
-            pstmt = conn.prepareStatement(selectSql);
-            
-            // Execute the query
-            ResultSet rs = pstmt.executeQuery();
 
-            // Process the result set
-            System.out.println("AWS Certified Students:");
-            while(rs.next()){
-                int id  = rs.getInt("student_id");
-                String name = rs.getString("student_name");
-                String dept = rs.getString("department");
-                System.out.println("Student ID: " + id + ", Name: " + name + ", Department: " + dept);
-            }
+            try (Connection conn = pool.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(selectSql);
+                 // Execute the query
+                 ResultSet rs = pstmt.executeQuery()) {
 
-            // Close the resources
-            rs.close();
-            pstmt.close();
-            conn.close();
+                // Process the result set
+                System.out.println("AWS Certified Students:");
+                while(rs.next()){
+                    int id  = rs.getInt("student_id");
+                    String name = rs.getString("student_name");
+                    String dept = rs.getString("department");
+                    System.out.println("Student ID: " + id + ", Name: " + name + ", Department: " + dept);
+                }
+            }
         }
         catch(Exception e){
             System.out.println("An error occurred:");
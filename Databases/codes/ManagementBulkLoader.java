@@ -0,0 +1,252 @@
+// Bulk loader for the management table - batched inserts or PostgreSQL COPY
+import java.io.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.postgresql.PGConnection;
+
+public class ManagementBulkLoader {
+
+    static final String COLUMNS = "student_id, student_name, department, marks, aws_certified";
+
+    // An unquoted \N field is NULL for both loaders; an empty field or a quoted "\N" is a plain string
+    static final String NULL_MARKER = "\\N";
+
+    private final Connection conn;
+    private final int batchSize;
+    private final String insertSql;
+    private final String copySql;
+
+    public ManagementBulkLoader(Connection conn, int batchSize) {
+        this(conn, batchSize, "management");
+    }
+
+    // table must have the management columns, e.g. a staging copy made with CREATE TABLE ... (LIKE management)
+    public ManagementBulkLoader(Connection conn, int batchSize, String table) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1, got " + batchSize);
+        }
+        this.conn = conn;
+        this.batchSize = batchSize;
+        this.insertSql = "INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+        // COPY parses the CSV on the server, so the header line is skipped there as well
+        this.copySql = "COPY " + table + " (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv, HEADER true, NULL '"
+                + NULL_MARKER + "')";
+    }
+
+    // The PostgreSQL driver only folds a batch into multi-row INSERTs when this flag is on; other drivers reject it
+    public static String withBatchRewrite(String url) {
+        if (!url.startsWith("jdbc:postgresql:") || url.contains("reWriteBatchedInserts")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+    }
+
+    // Reads "student_id,student_name,department,marks,aws_certified" records (with a header)
+    // and inserts them with addBatch/executeBatch inside a single transaction
+    public LoadReport load(Reader csv) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        long batches = 0;
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Reader reader = csv;
+             PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
+
+            Chars chars = new Chars(reader);
+            parseRecord(chars); // header
+            int pending = 0;
+            List<String> fields;
+            while (true) {
+                int lineNo = chars.line;
+                if ((fields = parseRecord(chars)) == null) {
+                    break;
+                }
+                if (fields.size() == 1 && fields.get(0) != null && fields.get(0).isBlank()) {
+                    continue;
+                }
+                bind(pstmt, fields, lineNo);
+                pstmt.addBatch();
+                rows++;
+
+                if (++pending == batchSize) {
+                    pstmt.executeBatch();
+                    batches++;
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                pstmt.executeBatch();
+                batches++;
+            }
+            conn.commit();
+        }
+        catch (SQLException | IOException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        }
+        finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return new LoadReport("batch(" + batchSize + ")", rows, batches, System.nanoTime() - start);
+    }
+
+    // Fast path for very large files - the whole stream is sent as one COPY command
+    public LoadReport copy(Reader csv) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long rows = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, csv);
+        return new LoadReport("copy", rows, 1, System.nanoTime() - start);
+    }
+
+    private static void bind(PreparedStatement pstmt, List<String> fields, int lineNo) throws IOException, SQLException {
+        if (fields.size() != 5) {
+            throw new IOException("Line " + lineNo + ": expected 5 fields but found " + fields.size());
+        }
+        try {
+            setInt(pstmt, 1, fields.get(0));
+            pstmt.setString(2, fields.get(1));
+            pstmt.setString(3, fields.get(2));
+            setInt(pstmt, 4, fields.get(3));
+            if (fields.get(4) == null) {
+                pstmt.setNull(5, Types.BOOLEAN);
+            }
+            else {
+                pstmt.setBoolean(5, parseBoolean(fields.get(4), lineNo));
+            }
+        }
+        catch (NumberFormatException e) {
+            throw new IOException("Line " + lineNo + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void setInt(PreparedStatement pstmt, int index, String field) throws SQLException {
+        if (field == null) {
+            pstmt.setNull(index, Types.INTEGER);
+        }
+        else {
+            pstmt.setInt(index, Integer.parseInt(field.trim()));
+        }
+    }
+
+    // Accepts exactly what PostgreSQL's boolean input (and so COPY) accepts: true/false, yes/no, on/off, 1/0
+    // and unambiguous prefixes such as t, f, y, n, case-insensitive, surrounding spaces ignored
+    static boolean parseBoolean(String field, int lineNo) throws IOException {
+        String value = field.trim().toLowerCase(Locale.ROOT);
+        if (!value.isEmpty()) {
+            if ("true".startsWith(value) || "yes".startsWith(value) || value.equals("on") || value.equals("1")) {
+                return true;
+            }
+            // "o" alone could be on or off, so off needs at least "of"
+            if ("false".startsWith(value) || "no".startsWith(value) || (value.length() > 1 && "off".startsWith(value))
+                    || value.equals("0")) {
+                return false;
+            }
+        }
+        throw new IOException("Line " + lineNo + ": invalid boolean \"" + field + "\"");
+    }
+
+    // Minimal CSV parsing, same as COPY's csv format: quoted fields may contain commas, "" escapes and
+    // line breaks (kept exactly as written), outside quotes \n or \r\n ends the record.
+    // An unquoted NULL_MARKER comes back as null. Returns null at end of input.
+    static List<String> parseRecord(Chars chars) throws IOException {
+        int lineNo = chars.line;
+        int c = chars.next();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (; c >= 0; c = chars.next()) {
+            if (quoted) {
+                if (c == '"' && chars.peek() == '"') {
+                    field.append('"');
+                    chars.next();
+                }
+                else if (c == '"') {
+                    quoted = false;
+                }
+                else {
+                    field.append((char) c);
+                }
+            }
+            else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            }
+            else if (c == ',') {
+                fields.add(value(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            }
+            else if (c == '\n') {
+                break;
+            }
+            else if (c != '\r' || chars.peek() != '\n') {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Line " + lineNo + ": unterminated quoted field");
+        }
+        fields.add(value(field, wasQuoted));
+        return fields;
+    }
+
+    private static String value(StringBuilder field, boolean wasQuoted) {
+        return !wasQuoted && NULL_MARKER.contentEquals(field) ? null : field.toString();
+    }
+
+    // Characters from a block buffer - an array read per character instead of a locked Reader.read() -
+    // counting line breaks so errors can name the line a record starts on
+    static final class Chars {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        int line = 1;
+
+        Chars(Reader reader) {
+            this.reader = reader;
+        }
+
+        int next() throws IOException {
+            int c = peek();
+            if (c >= 0) {
+                position++;
+                if (c == '\n') {
+                    line++;
+                }
+            }
+            return c;
+        }
+
+        int peek() throws IOException {
+            if (position == limit) {
+                limit = Math.max(reader.read(buffer), 0);
+                position = 0;
+                if (limit == 0) {
+                    return -1;
+                }
+            }
+            return buffer[position];
+        }
+    }
+
+    public record LoadReport(String mode, long rows, long batches, long nanos) {
+
+        public double rowsPerSecond() {
+            return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d row(s) in %d batch(es), %.1f ms, %.0f rows/s",
+                    mode, rows, batches, nanos / 1_000_000.0, rowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// Round-trip check for the CSV that ManagementTransfer exports: awkward rows are written with toCsvLine and
+// loaded back with ManagementBulkLoader.load (and COPY on PostgreSQL), then compared value by value.
+// Works on its own tables, the management table is not touched.
+// Usage: java ManagementCsvRoundTrip            (PostgreSQL demo database, see ManagementTransfer)
+//        java -Ddb.url=jdbc:h2:mem:check -Ddb.user=sa -Ddb.password= ManagementCsvRoundTrip
+import java.io.StringReader;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ManagementCsvRoundTrip {
+
+    static final String SOURCE = "management_roundtrip_source";
+    static final String BATCH = "management_roundtrip_batch";
+    static final String COPY = "management_roundtrip_copy";
+
+    // student_id, student_name, department, marks, aws_certified
+    static final Object[][] ROWS = {
+            {1, "plain", "CSE", 90, true},
+            {2, null, "", null, null},
+            {3, "\\N", "a,b", 0, false},
+            {4, "say \"hi\"", "two\nlines", 5, null},
+            {5, "crlf\r\nend", null, 7, true},
+            {6, "", "\"\\N\"", -1, false},
+            {7, " padded ", "tab\there", null, true},
+    };
+
+    public static void main(String[] args) throws Exception {
+        try (Connection conn = DriverManager.getConnection(ManagementTransfer.URL, ManagementTransfer.USER,
+                ManagementTransfer.PASSWORD)) {
+            boolean postgres = conn.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+            List<String> tables = postgres ? List.of(SOURCE, BATCH, COPY) : List.of(SOURCE, BATCH);
+            try {
+                for (String table : tables) {
+                    execute(conn, "DROP TABLE IF EXISTS " + table);
+                    execute(conn, "CREATE TABLE " + table + " (student_id INT, student_name VARCHAR(100),"
+                            + " department VARCHAR(100), marks INT, aws_certified BOOLEAN)");
+                }
+                insertRows(conn);
+
+                String csv = export(conn);
+                List<List<Object>> expected = rows(conn, SOURCE);
+                boolean ok = true;
+
+                new ManagementBulkLoader(conn, 3, BATCH).load(new StringReader(csv));
+                ok &= report("batch", expected, rows(conn, BATCH));
+                if (postgres) {
+                    new ManagementBulkLoader(conn, 3, COPY).copy(new StringReader(csv));
+                    ok &= report("copy", expected, rows(conn, COPY));
+                }
+                System.out.println(ok ? "Round trip OK" : "Round trip FAILED");
+                if (!ok) {
+                    System.exit(1);
+                }
+            }
+            finally {
+                for (String table : tables) {
+                    execute(conn, "DROP TABLE IF EXISTS " + table);
+                }
+            }
+        }
+    }
+
+    private static void insertRows(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO " + SOURCE + " ("
+                + ManagementBulkLoader.COLUMNS + ") VALUES (?, ?, ?, ?, ?)")) {
+            int[] types = {Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.BOOLEAN};
+            for (Object[] row : ROWS) {
+                for (int i = 0; i < row.length; i++) {
+                    pstmt.setObject(i + 1, row[i], types[i]);
+                }
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    // Same header and lines ManagementTransfer writes into each chunk
+    private static String export(Connection conn) throws SQLException {
+        StringBuilder csv = new StringBuilder(ManagementBulkLoader.COLUMNS.replace(" ", "")).append('\n');
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + ManagementBulkLoader.COLUMNS + " FROM " + SOURCE
+                     + " ORDER BY student_id")) {
+            while (rs.next()) {
+                csv.append(ManagementTransfer.toCsvLine(rs)).append('\n');
+            }
+        }
+        return csv.toString();
+    }
+
+    private static List<List<Object>> rows(Connection conn, String table) throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + ManagementBulkLoader.COLUMNS + " FROM " + table
+                     + " ORDER BY student_id")) {
+            while (rs.next()) {
+                rows.add(Arrays.asList(rs.getObject(1), rs.getObject(2), rs.getObject(3), rs.getObject(4),
+                        rs.getObject(5)));
+            }
+        }
+        return rows;
+    }
+
+    private static boolean report(String path, List<List<Object>> expected, List<List<Object>> actual) {
+        boolean same = expected.equals(actual);
+        System.out.printf("%-5s %d row(s) %s%n", path, actual.size(), same ? "identical" : "DIFFERENT");
+        if (!same) {
+            System.out.println("  expected " + expected);
+            System.out.println("  actual   " + actual);
+        }
+        return same;
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+// Parameterized CRUD for the management table with a per-connection prepared statement cache
+import java.sql.*;
+import java.util.*;
+
+import org.postgresql.PGStatement;
+
+public class ManagementDao implements AutoCloseable {
+
+    static final String INSERT_SQL =
+            "INSERT INTO management (student_id, student_name, department, marks, aws_certified) VALUES (?, ?, ?, ?, ?)";
+    static final String SELECT_BY_ID_SQL =
+            "SELECT student_id, student_name, department, marks FROM management WHERE student_id = ?";
+    static final String UPDATE_MARKS_SQL = "UPDATE management SET marks = ? WHERE student_id = ?";
+    static final String DELETE_SQL = "DELETE FROM management WHERE student_id = ?";
+
+    private final Connection conn;
+    private final int prepareThreshold;
+    private final Map<String, PreparedStatement> cache;
+    private long hits;
+    private long misses;
+
+    public ManagementDao(Connection conn) {
+        this(conn, 32, 1);
+    }
+
+    /*
+     * cacheSize - statements kept open per connection, least recently used is closed first.
+     * prepareThreshold - executions of the same SQL before the PostgreSQL driver switches to a named
+     * server-side statement, which is parsed and planned once and then reused. The driver default is 5.
+     * pgjdbc counts executions and keeps server-side statements in its own per-connection cache keyed by
+     * the SQL text (preparedStatementCacheQueries, 256 by default), so a fresh PreparedStatement for the
+     * same SQL gets them too. Caching the object here additionally skips the driver's SQL parsing and
+     * cache lookup per call, and keeps statements server-prepared when the driver cache is turned off.
+     */
+    public ManagementDao(Connection conn, int cacheSize, int prepareThreshold) {
+        this.conn = conn;
+        this.prepareThreshold = prepareThreshold;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= cacheSize) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    // Statement for this SQL text, prepared on first use and reused afterwards
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement pstmt = cache.get(sql);
+        if (pstmt != null && !pstmt.isClosed()) {
+            hits++;
+            pstmt.clearParameters();
+            return pstmt;
+        }
+        misses++;
+        pstmt = conn.prepareStatement(sql);
+        if (pstmt.isWrapperFor(PGStatement.class)) {
+            pstmt.unwrap(PGStatement.class).setPrepareThreshold(prepareThreshold);
+        }
+        cache.put(sql, pstmt);
+        return pstmt;
+    }
+
+    public int insert(Student student, boolean awsCertified) throws SQLException {
+        PreparedStatement pstmt = prepare(INSERT_SQL);
+        bindInsert(pstmt, student, awsCertified);
+        return pstmt.executeUpdate();
+    }
+
+    public Optional<Student> findById(int studentId) throws SQLException {
+        PreparedStatement pstmt = prepare(SELECT_BY_ID_SQL);
+        pstmt.setInt(1, studentId);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? Optional.of(Student.fromRow(rs)) : Optional.empty();
+        }
+    }
+
+    public int updateMarks(int studentId, int marks) throws SQLException {
+        PreparedStatement pstmt = prepare(UPDATE_MARKS_SQL);
+        pstmt.setInt(1, marks);
+        pstmt.setInt(2, studentId);
+        return pstmt.executeUpdate();
+    }
+
+    public int deleteById(int studentId) throws SQLException {
+        PreparedStatement pstmt = prepare(DELETE_SQL);
+        pstmt.setInt(1, studentId);
+        return pstmt.executeUpdate();
+    }
+
+    // Multi-row variants send one batch per call instead of a round trip per row
+
+    // Student -> aws_certified for that row, so one batch can mix certified and uncertified students
+    public int insertAll(Map<Student, Boolean> awsCertifiedByStudent) throws SQLException {
+        PreparedStatement pstmt = prepare(INSERT_SQL);
+        for (Map.Entry<Student, Boolean> entry : awsCertifiedByStudent.entrySet()) {
+            bindInsert(pstmt, entry.getKey(), entry.getValue());
+            pstmt.addBatch();
+        }
+        return sum(pstmt.executeBatch());
+    }
+
+    public int updateMarksAll(Map<Integer, Integer> marksById) throws SQLException {
+        PreparedStatement pstmt = prepare(UPDATE_MARKS_SQL);
+        for (Map.Entry<Integer, Integer> entry : marksById.entrySet()) {
+            pstmt.setInt(1, entry.getValue());
+            pstmt.setInt(2, entry.getKey());
+            pstmt.addBatch();
+        }
+        return sum(pstmt.executeBatch());
+    }
+
+    public int deleteAllById(Collection<Integer> studentIds) throws SQLException {
+        PreparedStatement pstmt = prepare(DELETE_SQL);
+        for (int studentId : studentIds) {
+            pstmt.setInt(1, studentId);
+            pstmt.addBatch();
+        }
+        return sum(pstmt.executeBatch());
+    }
+
+    public String cacheStats() {
+        return "statement cache: " + cache.size() + " open, " + hits + " hit(s), " + misses + " miss(es)";
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, Student student, boolean awsCertified) throws SQLException {
+        pstmt.setInt(1, student.studentId());
+        pstmt.setString(2, student.studentName());
+        pstmt.setString(3, student.department());
+        pstmt.setInt(4, student.marks());
+        pstmt.setBoolean(5, awsCertified);
+    }
+
+    // SUCCESS_NO_INFO (-2) means the row was processed but the driver did not report a count
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+
+    private static void closeQuietly(Statement stmt) {
+        try {
+            stmt.close();
+        }
+        catch (SQLException ignored) {
+        }
+    }
+
+    // Closes the cached statements - the connection belongs to the caller
+    @Override
+    public void close() {
+        cache.values().forEach(ManagementDao::closeQuietly);
+        cache.clear();
+    }
+}
@@ -0,0 +1,274 @@
+// Parallel export/import of the management table as gzip CSV chunks, one student_id range per chunk
+// Usage: java ManagementTransfer export <dir> [threads]
+//        java ManagementTransfer import <dir> [threads]
+//        java ManagementTransfer scale  <dir> [maxThreads]   (exports, then re-imports into a staging copy per thread count)
+//
+// scale on H2 (file database, 1M seeded rows, 10% NULL departments), JDK 17, single-CPU VM:
+//   java -Ddb.url=jdbc:h2:file:/tmp/h2scale/demo -Ddb.user=sa -Ddb.password= ManagementTransfer scale /tmp/h2scale/out 4
+//   export  1 / 2 / 4 threads   115k / 181k / 198k rows/s
+//   import  1 / 2 / 4 threads    69k / 125k / 145k rows/s   (batch path into an unindexed staging table)
+// With one CPU the gain past one thread is overlapped file and database I/O, not parallel work.
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class ManagementTransfer {
+
+    // -Ddb.url=... etc. point the tool at another database, e.g. an H2 file for a local run
+    static final String URL = System.getProperty("db.url", "jdbc:postgresql://localhost:5432/demo");
+    static final String USER = System.getProperty("db.user", "postgres");
+    static final String PASSWORD = System.getProperty("db.password", "password");
+
+    static final String RANGE_SQL = "SELECT " + ManagementBulkLoader.COLUMNS
+            + " FROM management WHERE student_id >= ? AND student_id < ? ORDER BY student_id";
+
+    // More chunks than threads, so one slow or dense range does not leave the other workers idle
+    static final int CHUNKS_PER_THREAD = 4;
+    static final int FETCH_SIZE = 5_000;
+    static final int BATCH_SIZE = 1_000;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    static final String STAGING_TABLE = "management_transfer_staging";
+
+    public record TransferReport(String label, int threads, int chunks, long rows, long bytes, long nanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%-6s %2d thread(s) %3d chunk(s) %10d rows %8.1f MB %7.2f s %10.0f rows/s",
+                    label, threads, chunks, rows, bytes / (1024.0 * 1024.0), nanos / 1e9, rows * 1e9 / nanos);
+        }
+    }
+
+    private record Chunk(Path file, long rows, long bytes) {
+    }
+
+    public static TransferReport export(SimpleConnectionPool pool, Path dir, int threads) throws Exception {
+        Files.createDirectories(dir);
+        try (Stream<Path> old = Files.list(dir)) {
+            for (Path file : old.filter(ManagementTransfer::isChunk).toList()) {
+                Files.delete(file);
+            }
+        }
+
+        long start = System.nanoTime();
+        long minId;
+        long maxId;
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT min(student_id), max(student_id) FROM management")) {
+            rs.next();
+            minId = rs.getLong(1);
+            maxId = rs.getLong(2);
+            if (rs.wasNull()) {
+                return new TransferReport("export", threads, 0, 0, 0, System.nanoTime() - start);
+            }
+        }
+
+        // Equal-width key ranges [lo, hi) covering minId..maxId
+        int chunks = (int) Math.min((long) threads * CHUNKS_PER_THREAD, maxId - minId + 1);
+        long width = (maxId - minId + chunks) / chunks;
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Chunk>> results = new ArrayList<>();
+            for (int i = 0; i < chunks; i++) {
+                long lo = minId + i * width;
+                long hi = Math.min(lo + width, maxId + 1);
+                Path file = dir.resolve(String.format("management-%05d.csv.gz", i));
+                results.add(workers.submit(() -> exportRange(pool, lo, hi, file)));
+            }
+            return collect("export", threads, results, start);
+        }
+        finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Streams one key range through a cursor straight into a gzip file
+    private static Chunk exportRange(SimpleConnectionPool pool, long lo, long hi, Path file) throws Exception {
+        long rows = 0;
+        try (Connection conn = pool.getConnection();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), StandardCharsets.UTF_8),
+                     BUFFER_SIZE);
+             Stream<String> lines = StreamingQuery.stream(conn, RANGE_SQL, FETCH_SIZE, ManagementTransfer::toCsvLine, lo, hi)) {
+
+            out.write(ManagementBulkLoader.COLUMNS.replace(" ", ""));
+            out.write('\n');
+            for (String line : (Iterable<String>) lines::iterator) {
+                out.write(line);
+                out.write('\n');
+                rows++;
+            }
+        }
+        return new Chunk(file, rows, Files.size(file));
+    }
+
+    public static TransferReport importAll(SimpleConnectionPool pool, Path dir, int threads) throws Exception {
+        return importAll(pool, dir, threads, "management");
+    }
+
+    public static TransferReport importAll(SimpleConnectionPool pool, Path dir, int threads, String table) throws Exception {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(ManagementTransfer::isChunk).sorted().toList();
+        }
+
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Chunk>> results = new ArrayList<>();
+            for (Path file : files) {
+                results.add(workers.submit(() -> importChunk(pool, file, table)));
+            }
+            return collect("import", threads, results, start);
+        }
+        finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Each chunk is loaded in batches and committed as its own transaction
+    private static Chunk importChunk(SimpleConnectionPool pool, Path file, String table) throws Exception {
+        try (Connection conn = pool.getConnection();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Reader in = new InputStreamReader(
+                     new GZIPInputStream(Channels.newInputStream(channel), BUFFER_SIZE), StandardCharsets.UTF_8)) {
+            ManagementBulkLoader.LoadReport report = new ManagementBulkLoader(conn, BATCH_SIZE, table).load(in);
+            return new Chunk(file, report.rows(), Files.size(file));
+        }
+    }
+
+    private static TransferReport collect(String label, int threads, List<Future<Chunk>> results, long start)
+            throws Exception {
+        long rows = 0;
+        long bytes = 0;
+        for (Future<Chunk> result : results) {
+            try {
+                Chunk chunk = result.get();
+                rows += chunk.rows();
+                bytes += chunk.bytes();
+            }
+            catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        return new TransferReport(label, threads, results.size(), rows, bytes, System.nanoTime() - start);
+    }
+
+    // Same CSV dialect ManagementBulkLoader and PostgreSQL COPY read, NULLs written as NULL_MARKER
+    static String toCsvLine(ResultSet rs) throws SQLException {
+        return intField(rs, "student_id") + ","
+                + quote(rs.getString("student_name")) + ","
+                + quote(rs.getString("department")) + ","
+                + intField(rs, "marks") + ","
+                + booleanField(rs, "aws_certified");
+    }
+
+    // getInt/getBoolean return 0/false for NULL, only wasNull() tells them apart
+    private static String intField(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? ManagementBulkLoader.NULL_MARKER : Integer.toString(value);
+    }
+
+    private static String booleanField(ResultSet rs, String column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? ManagementBulkLoader.NULL_MARKER : Boolean.toString(value);
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return ManagementBulkLoader.NULL_MARKER;
+        }
+        // A string that looks like the marker is quoted so it stays a string
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0
+                && !value.equals(ManagementBulkLoader.NULL_MARKER)) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean isChunk(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith("management-") && name.endsWith(".csv.gz");
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: java ManagementTransfer <export|import|scale> <dir> [threads]");
+            return;
+        }
+        String command = args[0];
+        Path dir = Path.of(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        // One connection per worker, with batch rewriting for the import side
+        // A chunk can legitimately hold its connection for minutes, so the leak threshold is raised
+        try (SimpleConnectionPool pool = new SimpleConnectionPool(
+                ManagementBulkLoader.withBatchRewrite(URL), USER, PASSWORD, threads + 1,
+                60_000, 30 * 60_000, 15 * 60_000)) {
+            switch (command) {
+                case "export" -> System.out.println(export(pool, dir, threads));
+                case "import" -> System.out.println(importAll(pool, dir, threads));
+                case "scale" -> scale(pool, dir, threads);
+                default -> System.out.println("Unknown command: " + command);
+            }
+        }
+    }
+
+    // Runs export and import at 1, 2, 4 ... maxThreads workers, after one unreported pass at maxThreads
+    // so the single-thread numbers are not paying for JIT warm-up
+    // Imports go into a staging copy with the same columns, defaults and indexes, so management itself
+    // is never emptied and a failed run cannot lose rows
+    static void scale(SimpleConnectionPool pool, Path dir, int maxThreads) throws Exception {
+        List<Integer> counts = new ArrayList<>();
+        for (int t = 1; t < maxThreads; t *= 2) {
+            counts.add(t);
+        }
+        counts.add(maxThreads);
+
+        export(pool, dir, maxThreads);
+        for (int t : counts) {
+            System.out.println(export(pool, dir, t));
+        }
+        try {
+            execute(pool, "DROP TABLE IF EXISTS " + STAGING_TABLE, stagingDdl(pool));
+            importAll(pool, dir, maxThreads, STAGING_TABLE);
+            for (int t : counts) {
+                execute(pool, "TRUNCATE TABLE " + STAGING_TABLE);
+                System.out.println(importAll(pool, dir, t, STAGING_TABLE));
+            }
+        }
+        finally {
+            execute(pool, "DROP TABLE IF EXISTS " + STAGING_TABLE);
+        }
+    }
+
+    // LIKE ... INCLUDING ALL is PostgreSQL only; elsewhere the copy gets the columns but no indexes
+    private static String stagingDdl(SimpleConnectionPool pool) throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            if (conn.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+                return "CREATE TABLE " + STAGING_TABLE + " (LIKE management INCLUDING ALL)";
+            }
+        }
+        return "CREATE TABLE " + STAGING_TABLE + " AS SELECT * FROM management WITH NO DATA";
+    }
+
+    private static void execute(SimpleConnectionPool pool, String... sql) throws SQLException {
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String statement : sql) {
+                stmt.execute(statement);
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+// Minimal dependency-free JDBC connection pool used by the JDBC demos
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SimpleConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long leakThresholdMs;
+
+    // Only connections that passed isValid() within this window are handed out without a check
+    private static final long VALIDATION_INTERVAL_MS = 500;
+
+    // Semaphore bounds open + borrowed connections, the deque holds idle ones without locking
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Entry> idle = new ConcurrentLinkedDeque<>();
+    private final Map<Entry, Lease> borrowed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    public SimpleConnectionPool(String url, String user, String password, int maxSize) {
+        this(url, user, password, maxSize, 5_000, 30 * 60_000, 10_000);
+    }
+
+    public SimpleConnectionPool(String url, String user, String password, int maxSize,
+                                long borrowTimeoutMs, long maxLifetimeMs, long leakThresholdMs) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1, got " + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-leak-detector");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(leakThresholdMs / 2, 100);
+        leakDetector.scheduleAtFixedRate(this::reportLeaks, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Returned connection goes back to the pool on close(), so use it in try-with-resources
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + borrowTimeoutMs + " ms waiting for one of " + maxSize + " connections");
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            Entry entry = takeIdle();
+            if (entry == null) {
+                entry = new Entry(DriverManager.getConnection(url, user, password));
+            }
+            Lease lease = new Lease(entry, Thread.currentThread().getName(), new Throwable("Connection borrowed here"));
+            borrowed.put(entry, lease);
+            return (Connection) lease.handle;
+        }
+        catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Pops idle connections until one is young enough and still alive
+    private Entry takeIdle() {
+        Entry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (entry.expired(maxLifetimeMs)) {
+                entry.closeQuietly();
+                continue;
+            }
+            if (System.currentTimeMillis() - entry.lastUsed < VALIDATION_INTERVAL_MS || entry.isValid()) {
+                return entry;
+            }
+            entry.closeQuietly();
+        }
+        return null;
+    }
+
+    private void giveBack(Lease lease) {
+        Entry entry = lease.entry;
+        borrowed.remove(entry);
+        // Statements the borrower left open would keep server-side cursors and memory on this connection;
+        // closing them closes their result sets too
+        for (Child statement : lease.statements) {
+            statement.closeQuietly();
+        }
+        lease.statements.clear();
+        try {
+            if (closed || entry.expired(maxLifetimeMs) || entry.connection.isClosed()) {
+                entry.closeQuietly();
+                return;
+            }
+            // Never hand the next borrower someone else's open transaction
+            if (!entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+                entry.connection.setAutoCommit(true);
+            }
+            entry.connection.clearWarnings();
+            entry.lastUsed = System.currentTimeMillis();
+            // Most recently used first keeps the hot connections hot and lets the rest age out
+            idle.offerFirst(entry);
+        }
+        catch (SQLException e) {
+            entry.closeQuietly();
+        }
+        finally {
+            permits.release();
+        }
+    }
+
+    private void reportLeaks() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : borrowed.values()) {
+            if (!lease.reported && now - lease.borrowedAt > leakThresholdMs) {
+                lease.reported = true;
+                System.out.println("Possible connection leak: borrowed by " + lease.owner + " "
+                        + (now - lease.borrowedAt) + " ms ago and not closed");
+                lease.origin.printStackTrace(System.out);
+            }
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    public int activeCount() {
+        return borrowed.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        leakDetector.shutdownNow();
+        Entry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            entry.closeQuietly();
+        }
+        // Borrowed connections are closed when their holders give them back
+    }
+
+    // Proxies implement every public interface of the driver class, so unwrap(PGConnection.class) and
+    // unwrap(PGStatement.class) can return the proxy itself instead of the physical object
+    private static final ClassValue<Class<?>[]> INTERFACES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> all = new LinkedHashSet<>();
+            Deque<Class<?>> pending = new ArrayDeque<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                Collections.addAll(pending, c.getInterfaces());
+            }
+            while (!pending.isEmpty()) {
+                Class<?> i = pending.poll();
+                if (all.add(i)) {
+                    Collections.addAll(pending, i.getInterfaces());
+                }
+            }
+            all.removeIf(i -> !Modifier.isPublic(i.getModifiers()));
+            return all.toArray(new Class<?>[0]);
+        }
+    };
+
+    private static Object newProxy(Object target, InvocationHandler handler) {
+        ClassLoader loader = target.getClass().getClassLoader();
+        return Proxy.newProxyInstance(loader != null ? loader : SimpleConnectionPool.class.getClassLoader(),
+                INTERFACES.get(target.getClass()), handler);
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class Entry {
+        final Connection connection;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastUsed = createdAt;
+
+        Entry(Connection connection) {
+            this.connection = connection;
+        }
+
+        boolean expired(long maxLifetimeMs) {
+            return System.currentTimeMillis() - createdAt > maxLifetimeMs;
+        }
+
+        boolean isValid() {
+            try {
+                return connection.isValid(1);
+            }
+            catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                connection.close();
+            }
+            catch (SQLException ignored) {
+            }
+        }
+    }
+
+    // Handle given to callers: forwards everything to the real connection except close()
+    private final class Lease implements InvocationHandler {
+        final Entry entry;
+        final String owner;
+        final Throwable origin;
+        final long borrowedAt = System.currentTimeMillis();
+        final AtomicBoolean returned = new AtomicBoolean();
+        final Object handle;
+        // Open statements created through this lease, closed when the connection goes back
+        final Set<Child> statements = ConcurrentHashMap.newKeySet();
+        volatile boolean reported;
+
+        Lease(Entry entry, String owner, Throwable origin) {
+            this.entry = entry;
+            this.owner = owner;
+            this.origin = origin;
+            this.handle = newProxy(entry.connection, this);
+        }
+
+        // Every way back to the physical connection must lead to the handle instead, otherwise a caller
+        // could close() it underneath the pool, so statements and metadata are wrapped too. Result sets are
+        // not: their getters run once per column per row, and a reflective proxy there would cost more than
+        // the pool saves. ResultSet.getStatement() therefore returns the driver's statement.
+        Object guard(Object result, Object target, Object proxy) {
+            if (result == null) {
+                return null;
+            }
+            if (result == target) {
+                // unwrap() to an interface the driver object implements, or a method returning this
+                return proxy;
+            }
+            if (result == entry.connection) {
+                return handle;
+            }
+            if (result instanceof Statement || result instanceof DatabaseMetaData) {
+                Child child = new Child(this, result);
+                if (result instanceof Statement) {
+                    statements.add(child);
+                }
+                return child.proxy;
+            }
+            return result;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        giveBack(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || entry.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + entry.connection + "]";
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    return guard(forward(entry.connection, method, args), entry.connection, proxy);
+            }
+        }
+    }
+
+    // Statement or DatabaseMetaData obtained through a lease
+    private static final class Child implements InvocationHandler {
+        final Lease lease;
+        final Object target;
+        final Object proxy;
+
+        Child(Lease lease, Object target) {
+            this.lease = lease;
+            this.target = target;
+            this.proxy = newProxy(target, this);
+        }
+
+        void closeQuietly() {
+            try {
+                ((Statement) target).close();
+            }
+            catch (SQLException ignored) {
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + target + "]";
+                case "close":
+                    lease.statements.remove(this);
+                    return forward(target, method, args);
+                case "isClosed":
+                    return forward(target, method, args);
+                default:
+                    if (lease.returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    return lease.guard(forward(target, method, args), target, proxy);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+// Throughput of the same lookup + update done with literal SQL, a fresh PreparedStatement per call,
+// and ManagementDao's cached PreparedStatements, with the driver's statement cache on (default) and off
+// Usage: java StatementCacheBenchmark [operations]
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementCacheBenchmark {
+
+    static final String URL = "jdbc:postgresql://localhost:5432/demo";
+    static final String USER = "postgres";
+    static final String PASSWORD = "password";
+
+    // preparedStatementCacheQueries=0 turns off the driver's own per-connection statement cache, so a
+    // fresh PreparedStatement starts counting towards prepareThreshold from zero and is parsed and planned again
+    static final String NO_DRIVER_CACHE = "preparedStatementCacheQueries=0";
+
+    interface Workload {
+        void run(int studentId, int marks) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT student_id FROM management ORDER BY student_id LIMIT 1000")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            System.out.println("management is empty - load some rows first (see JDBCInsertionDemo)");
+            return;
+        }
+
+        System.out.printf("%d operations (lookup + update) over %d rows%n", operations, ids.size());
+        run("driver defaults", URL, ids, operations);
+        run("driver cache off", URL + "?" + NO_DRIVER_CACHE, ids, operations);
+    }
+
+    static void run(String settings, String url, List<Integer> ids, int operations) throws SQLException {
+        System.out.println("-- " + settings);
+        try (Connection conn = DriverManager.getConnection(url, USER, PASSWORD)) {
+            // Literal SQL - the server parses and plans each statement text from scratch
+            Workload plain = (id, marks) -> {
+                try (Statement stmt = conn.createStatement()) {
+                    try (ResultSet rs = stmt.executeQuery(
+                            "SELECT student_id, student_name, department, marks FROM management WHERE student_id = " + id)) {
+                        rs.next();
+                    }
+                    stmt.executeUpdate("UPDATE management SET marks = " + marks + " WHERE student_id = " + id);
+                }
+            };
+
+            // Parameterized, but a new statement each call - only server-prepared if the driver cache finds it by SQL
+            Workload prepared = (id, marks) -> {
+                try (PreparedStatement select = conn.prepareStatement(ManagementDao.SELECT_BY_ID_SQL);
+                     PreparedStatement update = conn.prepareStatement(ManagementDao.UPDATE_MARKS_SQL)) {
+                    select.setInt(1, id);
+                    try (ResultSet rs = select.executeQuery()) {
+                        rs.next();
+                    }
+                    update.setInt(1, marks);
+                    update.setInt(2, id);
+                    update.executeUpdate();
+                }
+            };
+
+            try (ManagementDao dao = new ManagementDao(conn)) {
+                // Cached statements become named server-side statements and skip parse/plan afterwards
+                Workload cached = (id, marks) -> {
+                    dao.findById(id);
+                    dao.updateMarks(id, marks);
+                };
+
+                for (int round = 0; round < 2; round++) {
+                    // First round warms up the JIT and the server's buffers, second one is reported
+                    boolean report = round == 1;
+                    measure("plain Statement", plain, ids, operations, conn, report);
+                    measure("PreparedStatement", prepared, ids, operations, conn, report);
+                    measure("cached PreparedStatement", cached, ids, operations, conn, report);
+                }
+                System.out.println(dao.cacheStats());
+            }
+        }
+    }
+
+    static void measure(String label, Workload workload, List<Integer> ids, int operations,
+                        Connection conn, boolean report) throws SQLException {
+        // One transaction per run so commit cost does not drown out statement preparation
+        conn.setAutoCommit(false);
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            workload.run(ids.get(i % ids.size()), i % 101);
+        }
+        long elapsed = System.nanoTime() - start;
+        conn.rollback();
+        conn.setAutoCommit(true);
+
+        if (report) {
+            System.out.printf("%-26s %8.0f ops/s  (%.1f us/op)%n",
+                    label, operations * 1e9 / elapsed, elapsed / 1e3 / operations);
+        }
+    }
+}
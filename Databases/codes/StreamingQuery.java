@@ -0,0 +1,127 @@
+// Runs a query as a lazy Stream backed by a server-side cursor instead of loading the whole result
+import java.sql.*;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class StreamingQuery {
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T mapRow(ResultSet rs) throws SQLException;
+    }
+
+    // Stream callbacks cannot throw checked exceptions, so SQL failures surface as this
+    public static class UncheckedSQLException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public UncheckedSQLException(SQLException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    private StreamingQuery() {
+    }
+
+    /*
+     * The PostgreSQL driver only uses a cursor (fetching fetchSize rows per round trip) when
+     * auto-commit is off and the statement is forward-only - otherwise it buffers every row.
+     * The stream must be closed (use try-with-resources); that closes the result set and statement
+     * and restores the connection's auto-commit. The connection itself stays open for the caller.
+     */
+    public static <T> Stream<T> stream(Connection conn, String sql, int fetchSize,
+                                       RowMapper<T> mapper, Object... params) throws SQLException {
+        // Only a transaction started here is ended on close - a caller's own transaction is left alone
+        boolean autoCommit = conn.getAutoCommit();
+        if (autoCommit) {
+            conn.setAutoCommit(false);
+        }
+
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            rs = pstmt.executeQuery();
+        }
+        catch (SQLException e) {
+            release(conn, autoCommit, pstmt, rs, e);
+            throw e;
+        }
+
+        ResultSet cursor = rs;
+        PreparedStatement statement = pstmt;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.mapRow(cursor));
+                    return true;
+                }
+                catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            SQLException failure = release(conn, autoCommit, statement, cursor, null);
+            if (failure != null) {
+                throw new UncheckedSQLException(failure);
+            }
+        });
+    }
+
+    // Closes in reverse order and ends the transaction opened for the cursor, keeping the first failure
+    private static SQLException release(Connection conn, boolean autoCommit,
+                                        Statement stmt, ResultSet rs, SQLException failure) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+        }
+        catch (SQLException e) {
+            failure = keep(failure, e);
+        }
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        }
+        catch (SQLException e) {
+            failure = keep(failure, e);
+        }
+        try {
+            if (autoCommit) {
+                conn.commit();
+                conn.setAutoCommit(true);
+            }
+        }
+        catch (SQLException e) {
+            failure = keep(failure, e);
+        }
+        return failure;
+    }
+
+    private static SQLException keep(SQLException first, SQLException next) {
+        if (first == null) {
+            return next;
+        }
+        first.addSuppressed(next);
+        return first;
+    }
+}
@@ -0,0 +1,111 @@
+// Peak heap of reading the whole management table buffered vs streamed through a cursor
+// Usage: java -Xmx512m StreamingQueryBenchmark <buffered|streaming> [rows] [fetchSize]
+// Run each mode in its own JVM so one run's garbage does not show up in the other's numbers.
+// With 10M rows the buffered run needs several GB of heap, so -Xmx512m makes it fail with OutOfMemoryError.
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class StreamingQueryBenchmark {
+
+    static final String URL = "jdbc:postgresql://localhost:5432/demo";
+    static final String USER = "postgres";
+    static final String PASSWORD = "password";
+
+    static final String QUERY = "SELECT student_id, student_name, department, marks FROM management";
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "streaming";
+        long rows = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000;
+        int fetchSize = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+
+        try (Connection conn = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            seed(conn, rows);
+
+            System.gc();
+            HeapSampler sampler = new HeapSampler();
+            sampler.start();
+            long start = System.nanoTime();
+
+            long count;
+            long marks;
+            if (mode.equals("buffered")) {
+                // Default statement with auto-commit on - the driver reads every row before next() returns
+                count = 0;
+                marks = 0;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(QUERY)) {
+                    while (rs.next()) {
+                        Student student = Student.fromRow(rs);
+                        count++;
+                        marks += student.marks();
+                    }
+                }
+            }
+            else {
+                AtomicLong seen = new AtomicLong();
+                try (Stream<Student> students = StreamingQuery.stream(conn, QUERY, fetchSize, Student::fromRow)) {
+                    marks = students.peek(s -> seen.incrementAndGet()).mapToLong(Student::marks).sum();
+                }
+                count = seen.get();
+            }
+
+            long elapsed = System.nanoTime() - start;
+            sampler.interrupt();
+            sampler.join();
+
+            System.out.printf("%s (fetch size %s): %d rows, sum(marks) %d, %.1f s, %.0f rows/s, peak heap %d MB%n",
+                    mode, mode.equals("buffered") ? "default" : fetchSize, count, marks,
+                    elapsed / 1e9, count * 1e9 / elapsed, sampler.peak / (1024 * 1024));
+        }
+    }
+
+    // Tops the table up to the requested size with generated rows above the current max id
+    static void seed(Connection conn, long rows) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            long existing;
+            long maxId;
+            try (ResultSet rs = stmt.executeQuery("SELECT count(*), coalesce(max(student_id), 0) FROM management")) {
+                rs.next();
+                existing = rs.getLong(1);
+                maxId = rs.getLong(2);
+            }
+            if (existing >= rows) {
+                return;
+            }
+            System.out.println("Seeding " + (rows - existing) + " rows into management...");
+            stmt.executeUpdate("""
+                INSERT INTO management (student_id, student_name, department, marks, aws_certified)
+                SELECT %d + g, 'Student ' || g, (ARRAY['CSE', 'IT', 'ECE', 'ME'])[1 + g %% 4], g %% 101, g %% 3 = 0
+                FROM generate_series(1, %d) AS g
+                """.formatted(maxId, rows - existing));
+            stmt.execute("ANALYZE management");
+        }
+    }
+
+    // Polls used heap every few milliseconds and keeps the highest value seen
+    static class HeapSampler extends Thread {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        volatile long peak;
+
+        HeapSampler() {
+            super("heap-sampler");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+                try {
+                    Thread.sleep(5);
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
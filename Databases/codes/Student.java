@@ -0,0 +1,14 @@
+// One row of the management table
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public record Student(int studentId, String studentName, String department, int marks) {
+
+    public static Student fromRow(ResultSet rs) throws SQLException {
+        return new Student(
+                rs.getInt("student_id"),
+                rs.getString("student_name"),
+                rs.getString("department"),
+                rs.getInt("marks"));
+    }
+}
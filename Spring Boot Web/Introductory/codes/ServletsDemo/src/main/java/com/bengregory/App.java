@@ -1,30 +1,79 @@
 package com.bengregory;
 
+import com.bengregory.filter.GzipFilter;
+import com.bengregory.filter.MetricsFilter;
+import com.bengregory.metrics.MetricsServlet;
+import com.bengregory.metrics.RequestMetrics;
+import jakarta.servlet.Filter;
 import org.apache.catalina.Context;
 import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
 import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
 
 import java.io.File;
 
 /**
  * Hello world!
  *
+ * Connector settings can be passed as key=value arguments, see {@link ServerSettings}.
  */
-public class App 
+public class App
 {
     public static void main( String[] args ) throws LifecycleException {
         System.out.println( "Hello World!" );
+        ServerSettings settings = ServerSettings.fromArgs(args);
+        System.out.println( "Starting Tomcat with " + settings );
+
+        Tomcat tomcat = start(settings);
+        tomcat.getServer().await();
+
+    }
+
+    public static Tomcat start(ServerSettings settings) throws LifecycleException {
         Tomcat tomcat = new Tomcat();
+        tomcat.setConnector(settings.createConnector());
 
 
         String docBase = new File(".").getAbsolutePath();
         Context context = tomcat.addContext("", docBase);
 
+        // Filters run in the order they are added: metrics first, so its timing includes compression
+        RequestMetrics metrics = new RequestMetrics();
+        addFilter(context, "MetricsFilter", new MetricsFilter(metrics), "/*");
+        addFilter(context, "GzipFilter", new GzipFilter(1024), "/*");
+
         Tomcat.addServlet(context, "HelloServlet", new Servlet());
         context.addServletMappingDecoded("/hello", "HelloServlet");
 
+        // startAsync() is only allowed on servlets registered as async-supported
+        Wrapper async = Tomcat.addServlet(context, "AsyncServlet", new AsyncServlet());
+        async.setAsyncSupported(true);
+        context.addServletMappingDecoded("/async", "AsyncServlet");
+
+        Tomcat.addServlet(context, "BlockingServlet", new BlockingServlet());
+        context.addServletMappingDecoded("/blocking", "BlockingServlet");
+
+        Tomcat.addServlet(context, "MetricsServlet", new MetricsServlet(metrics));
+        context.addServletMappingDecoded("/metrics", "MetricsServlet");
+
         tomcat.start();
-        tomcat.getServer().await();
+        return tomcat;
+    }
+
+    // Programmatic equivalent of <filter> + <filter-mapping> in web.xml
+    static void addFilter(Context context, String name, Filter filter, String urlPattern) {
+        FilterDef def = new FilterDef();
+        def.setFilterName(name);
+        def.setFilter(filter);
+        // Every filter in front of AsyncServlet has to allow async, or startAsync() fails
+        def.setAsyncSupported("true");
+        context.addFilterDef(def);
 
+        FilterMap map = new FilterMap();
+        map.setFilterName(name);
+        map.addURLPattern(urlPattern);
+        context.addFilterMap(map);
     }
 }
@@ -0,0 +1,39 @@
+package com.bengregory;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Hands the request to a virtual thread and frees the Tomcat worker thread straight away
+public class AsyncServlet extends HttpServlet {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) {
+        AsyncContext async = request.startAsync();
+
+        executor.execute(() -> {
+            try {
+                HttpServletResponse asyncResponse = (HttpServletResponse) async.getResponse();
+                asyncResponse.getWriter().println("Async response sent!");
+            }
+            catch (IOException e) {
+                ((HttpServletResponse) async.getResponse()).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+            finally {
+                async.complete();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package com.bengregory;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Simulates a slow downstream call (database, remote API) by blocking the request thread
+// e.g. /blocking?ms=200 - the X-In-Flight header reports how many requests were blocked at the same time
+public class BlockingServlet extends HttpServlet {
+
+    private static final int DEFAULT_DELAY_MS = 100;
+    private static final int MAX_DELAY_MS = 10_000;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int delay = delayMs(request.getParameter("ms"));
+        int concurrent = inFlight.incrementAndGet();
+        try {
+            // On a platform thread this holds a Tomcat worker; on a virtual thread it only parks
+            Thread.sleep(delay);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        finally {
+            inFlight.decrementAndGet();
+        }
+
+        response.setHeader("X-In-Flight", String.valueOf(concurrent));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().println("Blocked for " + delay + " ms on " + Thread.currentThread());
+    }
+
+    private static int delayMs(String value) {
+        if (value == null) {
+            return DEFAULT_DELAY_MS;
+        }
+        try {
+            return Math.clamp(Integer.parseInt(value), 0, MAX_DELAY_MS);
+        }
+        catch (NumberFormatException e) {
+            return DEFAULT_DELAY_MS;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bengregory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs one in every {@code sampleRate} calls, printed from a background thread.
+ * Request threads only bump a counter and, for sampled calls, offer to a bounded queue -
+ * if the printer falls behind, messages are dropped instead of blocking the request.
+ */
+public final class SampledLogger {
+
+    private final String name;
+    private final long sampleRate;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(1024);
+
+    public SampledLogger(String name, long sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be at least 1, got " + sampleRate);
+        }
+        this.name = name;
+        this.sampleRate = sampleRate;
+
+        Thread printer = new Thread(this::drain, name + "-logger");
+        printer.setDaemon(true);
+        printer.start();
+    }
+
+    public void log(String message) {
+        long n = calls.incrementAndGet();
+        if ((n - 1) % sampleRate != 0) {
+            return;
+        }
+        String line = sampleRate == 1
+                ? "[" + name + "] " + message
+                : "[" + name + "] " + message + " (call #" + n + ", 1 in " + sampleRate + " logged)";
+        if (!queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                System.out.println(queue.take());
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    System.out.println("[" + name + "] " + lost + " log line(s) dropped");
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
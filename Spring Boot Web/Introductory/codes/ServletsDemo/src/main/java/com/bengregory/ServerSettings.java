@@ -0,0 +1,99 @@
+package com.bengregory;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http11.Http11Nio2Protocol;
+import org.apache.coyote.http11.Http11NioProtocol;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connector settings for the embedded Tomcat, read from key=value program arguments,
+ * e.g. {@code protocol=nio2 port=8080 maxThreads=50 acceptCount=200 keepAliveTimeout=5000}.
+ * {@code virtualThreads=true} runs every request on its own virtual thread instead of the worker pool.
+ */
+public record ServerSettings(String protocol,
+                             int port,
+                             int maxThreads,
+                             int minSpareThreads,
+                             int acceptCount,
+                             int maxConnections,
+                             int keepAliveTimeout,
+                             int maxKeepAliveRequests,
+                             boolean virtualThreads) {
+
+    // Same values Tomcat uses when nothing is configured
+    public static ServerSettings defaults() {
+        return new ServerSettings("nio", 8080, 200, 10, 100, 8192, 20_000, 100, false);
+    }
+
+    public static ServerSettings fromArgs(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        ServerSettings d = defaults();
+        ServerSettings settings = new ServerSettings(
+                values.getOrDefault("protocol", d.protocol()).toLowerCase(),
+                intValue(values, "port", d.port()),
+                intValue(values, "maxThreads", d.maxThreads()),
+                intValue(values, "minSpareThreads", d.minSpareThreads()),
+                intValue(values, "acceptCount", d.acceptCount()),
+                intValue(values, "maxConnections", d.maxConnections()),
+                intValue(values, "keepAliveTimeout", d.keepAliveTimeout()),
+                intValue(values, "maxKeepAliveRequests", d.maxKeepAliveRequests()),
+                Boolean.parseBoolean(values.getOrDefault("virtualThreads", String.valueOf(d.virtualThreads()))));
+
+        if (!settings.protocol().equals("nio") && !settings.protocol().equals("nio2")) {
+            throw new IllegalArgumentException("protocol must be nio or nio2, got: " + settings.protocol());
+        }
+        return settings;
+    }
+
+    public ServerSettings withPort(int port) {
+        return new ServerSettings(protocol, port, maxThreads, minSpareThreads, acceptCount,
+                maxConnections, keepAliveTimeout, maxKeepAliveRequests, virtualThreads);
+    }
+
+    public Connector createConnector() {
+        // NIO multiplexes sockets on a selector thread, NIO2 uses asynchronous channel completion handlers
+        String protocolClass = protocol.equals("nio2")
+                ? Http11Nio2Protocol.class.getName()
+                : Http11NioProtocol.class.getName();
+
+        Connector connector = new Connector(protocolClass);
+        connector.setPort(port);
+
+        AbstractHttp11Protocol<?> http = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+        http.setMaxThreads(maxThreads);
+        http.setMinSpareThreads(minSpareThreads);
+        // Connections queued by the OS once maxConnections are open
+        http.setAcceptCount(acceptCount);
+        http.setMaxConnections(maxConnections);
+        http.setKeepAliveTimeout(keepAliveTimeout);
+        // 1 closes the connection after every response, -1 allows unlimited requests per connection
+        http.setMaxKeepAliveRequests(maxKeepAliveRequests);
+
+        if (virtualThreads) {
+            // The endpoint creates and shuts down a virtual-thread-per-task executor; maxThreads and
+            // minSpareThreads no longer apply, concurrency is then bounded by maxConnections only
+            // setProperty returns false instead of throwing when the Tomcat version has no such property
+            if (!connector.setProperty("useVirtualThreads", "true")) {
+                throw new IllegalStateException(
+                        "virtualThreads=true but this Tomcat connector does not support useVirtualThreads");
+            }
+        }
+        return connector;
+    }
+
+    private static int intValue(Map<String, String> values, String key, int fallback) {
+        String value = values.get(key);
+        return value == null ? fallback : Integer.parseInt(value);
+    }
+}
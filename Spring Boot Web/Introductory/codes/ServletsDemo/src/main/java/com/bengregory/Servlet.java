@@ -8,9 +8,15 @@ import java.io.IOException;
 
 public class Servlet extends HttpServlet {
 
+    // Encoded once - every request writes the same bytes with Content-Length and ETag
+    private static final StaticResponse RESPONSE = StaticResponse.text("Response sent!\n");
+
+    // Printing on every request serializes all request threads on System.out
+    private static final SampledLogger LOG = new SampledLogger("HelloServlet", 1000);
+
     public void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        System.out.println("Service method is working...");
+        LOG.log("Service method is working...");
 
-        response.getWriter().println("Response sent!");
+        RESPONSE.write(request, response);
     }
 }
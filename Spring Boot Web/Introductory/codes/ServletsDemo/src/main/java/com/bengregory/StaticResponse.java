@@ -0,0 +1,94 @@
+package com.bengregory;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A response body that never changes, encoded once up front.
+ * Writing it skips the Writer and charset encoder and lets the client revalidate with If-None-Match.
+ */
+public final class StaticResponse {
+
+    private final byte[] body;
+    private final String contentType;
+    private final String etag;
+
+    public StaticResponse(byte[] body, String contentType) {
+        this.body = body.clone();
+        this.contentType = contentType;
+        this.etag = '"' + sha256Prefix(this.body) + '"';
+    }
+
+    public static StaticResponse text(String body) {
+        return new StaticResponse(body.getBytes(StandardCharsets.UTF_8), "text/plain;charset=UTF-8");
+    }
+
+    public void write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader("ETag", etag);
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null && anyMatches(ifNoneMatch, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentType);
+        // A known length lets Tomcat skip chunked encoding
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public int length() {
+        return body.length;
+    }
+
+    // If-None-Match is "*" or a list of entity tags, compared weakly (RFC 9110 section 13.1.2):
+    // W/"x" matches "x" either way round, which is what a client that got GzipFilter's W/ tag sends back
+    static boolean anyMatches(String ifNoneMatch, String etag) {
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        int i = 0;
+        while (i < ifNoneMatch.length()) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (c == '*') {
+                return true;
+            }
+            if (ifNoneMatch.startsWith("W/", i)) {
+                i += 2;
+            }
+            // Tags are quoted and may themselves contain commas, so scan to the closing quote
+            int end = i < ifNoneMatch.length() && ifNoneMatch.charAt(i) == '"' ? ifNoneMatch.indexOf('"', i + 1) : -1;
+            if (end < 0) {
+                return false; // malformed, so serve the full body
+            }
+            if (end + 1 - i == opaque.length() && ifNoneMatch.startsWith(opaque, i)) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    private static String sha256Prefix(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every JVM", e);
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.bengregory.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips responses once they grow past a size threshold, for clients that send Accept-Encoding: gzip.
+ * The first {@code threshold} bytes are held back; small bodies go out uncompressed with their length,
+ * larger ones switch to a GZIPOutputStream and are streamed from then on, never buffered whole.
+ * Responses written in non-blocking mode (a WriteListener) are sent uncompressed.
+ */
+public class GzipFilter extends HttpFilter {
+
+    private final int threshold;
+
+    public GzipFilter(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        String accept = request.getHeader("Accept-Encoding");
+        if (accept == null || !acceptsGzip(accept)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Caches must keep gzip and identity copies apart
+        response.addHeader("Vary", "Accept-Encoding");
+        GzipResponse gzip = new GzipResponse(response, threshold);
+        boolean async = false;
+        try {
+            chain.doFilter(request, gzip);
+            async = request.isAsyncStarted();
+        }
+        finally {
+            if (async) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) throws IOException {
+                        gzip.finish();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+            else {
+                gzip.finish();
+            }
+        }
+    }
+
+    // Accept-Encoding lists codings with optional weights (RFC 9110 section 12.5.3): q=0 means "not acceptable",
+    // and "*" stands for any coding not listed by name
+    static boolean acceptsGzip(String acceptEncoding) {
+        double gzip = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] params = element.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    }
+                    catch (NumberFormatException e) {
+                        q = 0; // unreadable weight, don't risk sending something the client refused
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, q);
+            }
+            else if (coding.equals("*")) {
+                any = Math.max(any, q);
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    static final class GzipResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletResponse response;
+        private final int threshold;
+        private ThresholdOutputStream stream;
+        private PrintWriter writer;
+        private boolean usingStream;
+
+        GzipResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.response = response;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            usingStream = true;
+            return stream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (usingStream) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // The real length is only known once we decide whether to compress
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!name.equalsIgnoreCase("Content-Length")) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!name.equalsIgnoreCase("Content-Length")) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.flush();
+                if (!stream.switched()) {
+                    return; // still deciding, committing now would lose the Content-Length
+                }
+            }
+            super.flushBuffer();
+        }
+
+        // Both resets must drop what is held back here too, or it would go out ahead of the new body
+        @Override
+        public void resetBuffer() {
+            drainWriter();
+            super.resetBuffer();
+            if (stream != null) {
+                restart(false);
+            }
+        }
+
+        @Override
+        public void reset() {
+            drainWriter();
+            super.reset();
+            // Like the container, allow either getWriter() or getOutputStream() again; the encoding may have changed
+            writer = null;
+            usingStream = false;
+            if (stream != null) {
+                restart(true);
+            }
+            super.addHeader("Vary", "Accept-Encoding");
+        }
+
+        // Pushes the encoder's pending bytes into the stream, where a reset can discard them
+        private void drainWriter() {
+            if (writer != null) {
+                stream.holdFlush = true;
+                try {
+                    writer.flush();
+                }
+                finally {
+                    stream.holdFlush = false;
+                }
+            }
+        }
+
+        private void restart(boolean headersCleared) {
+            try {
+                stream.restart(headersCleared);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private ThresholdOutputStream stream() throws IOException {
+            if (stream == null) {
+                stream = new ThresholdOutputStream(response, threshold);
+            }
+            return stream;
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.finish();
+            }
+        }
+    }
+
+    static final class ThresholdOutputStream extends ServletOutputStream {
+
+        private final HttpServletResponse response;
+        private final byte[] buffer;
+        private int buffered;
+        // Null while bytes are still held back, then either a GZIPOutputStream or the raw stream
+        private OutputStream target;
+        private boolean finished;
+        // Set once a WriteListener is registered; target is then the container's stream
+        private boolean nonBlocking;
+        // Set while a reset collects the writer's bytes, flushing then would commit the response
+        boolean holdFlush;
+
+        ThresholdOutputStream(HttpServletResponse response, int threshold) {
+            this.response = response;
+            this.buffer = new byte[threshold];
+        }
+
+        boolean switched() {
+            return target != null;
+        }
+
+        // The container's buffer was just cleared: held-back bytes go too, and a gzip stream starts over
+        // because its header and deflater state went with that buffer
+        void restart(boolean headersCleared) throws IOException {
+            buffered = 0;
+            if (nonBlocking) {
+                return;
+            }
+            if (headersCleared) {
+                target = null; // Content-Encoding and ETag are gone, decide again
+            }
+            else if (target instanceof GZIPOutputStream) {
+                target = new GZIPOutputStream(response.getOutputStream(), 8192, true);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            if (finished) {
+                throw new IOException("Response has already been completed");
+            }
+            if (target == null && buffered + len <= buffer.length) {
+                System.arraycopy(bytes, off, buffer, buffered, len);
+                buffered += len;
+                return;
+            }
+            if (target == null) {
+                switchOver();
+            }
+            target.write(bytes, off, len);
+        }
+
+        private void switchOver() throws IOException {
+            // Status codes without a body, or a body someone already encoded, pass through untouched
+            int status = response.getStatus();
+            boolean compressible = status != HttpServletResponse.SC_NO_CONTENT
+                    && status != HttpServletResponse.SC_NOT_MODIFIED
+                    && !response.containsHeader("Content-Encoding")
+                    && !response.isCommitted();
+
+            if (compressible) {
+                response.setHeader("Content-Encoding", "gzip");
+                // A strong ETag promises byte-identical bodies, which the gzip copy no longer is
+                String etag = response.getHeader("ETag");
+                if (etag != null && etag.startsWith("\"")) {
+                    response.setHeader("ETag", "W/" + etag);
+                }
+                target = new GZIPOutputStream(response.getOutputStream(), 8192, true);
+            }
+            else {
+                target = response.getOutputStream();
+            }
+            target.write(buffer, 0, buffered);
+            buffered = 0;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Below the threshold we keep holding bytes back, a flush would commit the response too early
+            if (target != null && !holdFlush) {
+                target.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (target == null) {
+                response.setContentLength(buffered);
+                response.getOutputStream().write(buffer, 0, buffered);
+            }
+            else if (target instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return !nonBlocking || ((ServletOutputStream) target).isReady();
+        }
+
+        // GZIPOutputStream writes whenever its deflater fills up, it cannot wait for isReady(), so non-blocking
+        // responses go out uncompressed. Held-back bytes are written first, still in blocking mode.
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            if (target instanceof GZIPOutputStream) {
+                throw new IllegalStateException("Response is already gzipped, set the WriteListener before writing "
+                        + buffer.length + " bytes");
+            }
+            try {
+                if (target == null) {
+                    target = response.getOutputStream();
+                    target.write(buffer, 0, buffered);
+                    buffered = 0;
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            nonBlocking = true;
+            ((ServletOutputStream) target).setWriteListener(listener);
+        }
+    }
+}
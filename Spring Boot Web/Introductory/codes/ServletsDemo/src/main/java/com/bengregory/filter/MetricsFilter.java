@@ -0,0 +1,67 @@
+package com.bengregory.filter;
+
+import com.bengregory.metrics.RequestMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+// Times every request per servlet mapping and tracks how many are in flight
+public class MetricsFilter extends HttpFilter {
+
+    private final RequestMetrics metrics;
+
+    public MetricsFilter(RequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        long start = System.nanoTime();
+        RequestMetrics.PathStats stats = metrics.started(pathOf(request));
+
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        }
+        finally {
+            if (async) {
+                // The response is written later on another thread - stop the clock when it completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        metrics.finished(stats, (System.nanoTime() - start) / 1_000);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+            else {
+                metrics.finished(stats, (System.nanoTime() - start) / 1_000);
+            }
+        }
+    }
+
+    // The mapping pattern ("/hello", "/") rather than the raw URI, so unknown URLs share one entry
+    private static String pathOf(HttpServletRequest request) {
+        String pattern = request.getHttpServletMapping().getPattern();
+        return pattern.isEmpty() ? "/" : pattern;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bengregory.metrics;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Plain-text metrics in the Prometheus exposition format, e.g.
+ * <pre>
+ * http_requests_in_flight 3
+ * http_request_duration_seconds{path="/hello",quantile="0.99"} 0.000412
+ * http_request_duration_seconds_count{path="/hello"} 10234
+ * </pre>
+ */
+public class MetricsServlet extends HttpServlet {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final RequestMetrics metrics;
+
+    public MetricsServlet(RequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("text/plain;version=0.0.4;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+
+        out.println("# TYPE http_requests_in_flight gauge");
+        out.println("http_requests_in_flight " + metrics.inFlight());
+        out.println("# TYPE http_requests_in_flight_peak gauge");
+        out.println("http_requests_in_flight_peak " + metrics.peakInFlight());
+
+        Map<String, RequestMetrics.PathStats> paths = metrics.paths();
+
+        out.println("# TYPE http_path_requests_in_flight gauge");
+        paths.forEach((path, stats) ->
+                out.println("http_path_requests_in_flight{path=\"" + escape(path) + "\"} " + stats.inFlight()));
+
+        out.println("# TYPE http_request_duration_seconds summary");
+        paths.forEach((path, stats) -> {
+            LatencyRecorder latency = stats.latency();
+            String label = "path=\"" + escape(path) + "\"";
+            for (double q : QUANTILES) {
+                out.println("http_request_duration_seconds{" + label + ",quantile=\"" + q + "\"} "
+                        + seconds(latency.percentileMicros(q)));
+            }
+            out.println("http_request_duration_seconds_sum{" + label + "} " + seconds(latency.sumMicros()));
+            out.println("http_request_duration_seconds_count{" + label + "} " + latency.count());
+            out.println("http_request_duration_seconds_max{" + label + "} " + seconds(latency.maxMicros()));
+        });
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1e6);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,57 @@
+package com.bengregory.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Shared by MetricsFilter (writes) and MetricsServlet (reads).
+ * Keys are servlet mapping patterns such as "/hello", so the number of entries stays bounded.
+ */
+public final class RequestMetrics {
+
+    public static final class PathStats {
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        public LatencyRecorder latency() {
+            return latency;
+        }
+
+        public int inFlight() {
+            return inFlight.get();
+        }
+    }
+
+    private final Map<String, PathStats> paths = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0);
+
+    public PathStats started(String path) {
+        PathStats stats = paths.computeIfAbsent(path, p -> new PathStats());
+        stats.inFlight.incrementAndGet();
+        peakInFlight.accumulate(inFlight.incrementAndGet());
+        return stats;
+    }
+
+    public void finished(PathStats stats, long micros) {
+        stats.latency.record(micros);
+        stats.inFlight.decrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    // Sorted copy so the /metrics output is stable between scrapes
+    public Map<String, PathStats> paths() {
+        return new TreeMap<>(paths);
+    }
+}
@@ -0,0 +1,146 @@
+package com.bengregory.benchmark;
+
+import com.bengregory.App;
+import com.bengregory.ServerSettings;
+import org.apache.catalina.startup.Tomcat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Closed-loop load test: starts the embedded Tomcat with each connector setting in turn,
+ * keeps a fixed number of clients busy against one path and reports requests per second and latency.
+ *
+ * Usage: LoadTest [path] [clients] [seconds]   e.g. LoadTest /async 200 10
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.benchmark.LoadTest
+ */
+public class LoadTest {
+
+    record Result(long requests, long errors, long nanos, long[] latencies) {
+
+        double perSecond() {
+            return requests * 1e9 / nanos;
+        }
+
+        double percentileMs(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[(int) Math.min(latencies.length - 1, latencies.length * p)] / 1e6;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : "/async";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        // port=0 lets the OS pick a free port for every run
+        List<ServerSettings> scenarios = List.of(
+                ServerSettings.fromArgs("protocol=nio", "port=0"),
+                ServerSettings.fromArgs("protocol=nio2", "port=0"),
+                ServerSettings.fromArgs("protocol=nio", "port=0", "maxThreads=20"),
+                ServerSettings.fromArgs("protocol=nio", "port=0", "maxThreads=20", "acceptCount=10", "maxConnections=50"),
+                ServerSettings.fromArgs("protocol=nio", "port=0", "maxKeepAliveRequests=1")
+        );
+
+        System.out.printf("%s with %d clients for %d s per scenario%n", path, clients, seconds);
+        for (ServerSettings settings : scenarios) {
+            Tomcat tomcat = App.start(settings);
+            try {
+                int port = tomcat.getConnector().getLocalPort();
+                URI uri = URI.create("http://localhost:" + port + path);
+
+                run(uri, clients, Math.max(1, seconds / 5)); // warm-up
+                Result result = run(uri, clients, seconds);
+
+                System.out.printf("%-5s maxThreads=%-4d acceptCount=%-4d maxConnections=%-5d keepAliveRequests=%-4d"
+                                + " %9.0f req/s  p50 %6.2f ms  p99 %7.2f ms  errors %d%n",
+                        settings.protocol(), settings.maxThreads(), settings.acceptCount(),
+                        settings.maxConnections(), settings.maxKeepAliveRequests(),
+                        result.perSecond(), result.percentileMs(0.50), result.percentileMs(0.99), result.errors());
+            }
+            finally {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        }
+    }
+
+    static Result run(URI uri, int clients, int seconds) throws Exception {
+        return run(uri, clients, seconds, response -> { });
+    }
+
+    // onResponse sees every successful response, e.g. to read headers the server reports
+    static Result run(URI uri, int clients, int seconds, Consumer<HttpResponse<Void>> onResponse) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(workers)
+                     .build()) {
+
+            List<Future<long[]>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                futures.add(workers.submit(() -> {
+                    // [0] errors, then one latency per successful request
+                    long[] samples = new long[1024];
+                    int n = 1;
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                samples[0]++;
+                                continue;
+                            }
+                            onResponse.accept(response);
+                        }
+                        catch (Exception e) {
+                            samples[0]++;
+                            continue;
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - begin;
+                    }
+                    return Arrays.copyOf(samples, n);
+                }));
+            }
+
+            long errors = 0;
+            List<long[]> all = new ArrayList<>();
+            int total = 0;
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                errors += samples[0];
+                all.add(samples);
+                total += samples.length - 1;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long[] latencies = new long[total];
+            int pos = 0;
+            for (long[] samples : all) {
+                System.arraycopy(samples, 1, latencies, pos, samples.length - 1);
+                pos += samples.length - 1;
+            }
+            Arrays.sort(latencies);
+            return new Result(total, errors, elapsed, latencies);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.bengregory.benchmark;
+
+import com.bengregory.StaticResponse;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Same body served two ways under many concurrent clients:
+ * /writer encodes the string through getWriter() on every request,
+ * /bytes writes precomputed bytes with Content-Length through getOutputStream().
+ * Both responses carry a Content-Length: the body fits in Tomcat's response buffer, so Tomcat
+ * sets the length itself when the servlet returns without flushing.
+ * Logging is left out of both so only the write path differs.
+ *
+ * Usage: ResponseWriteBenchmark [clients] [seconds]
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.benchmark.ResponseWriteBenchmark
+ */
+public class ResponseWriteBenchmark {
+
+    static final String BODY = "Response sent!\n";
+
+    static class WriterServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.getWriter().print(BODY);
+        }
+    }
+
+    static class BytesServlet extends HttpServlet {
+        private static final StaticResponse RESPONSE = StaticResponse.text(BODY);
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            RESPONSE.write(request, response);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", new File(".").getAbsolutePath());
+        Tomcat.addServlet(context, "WriterServlet", new WriterServlet());
+        context.addServletMappingDecoded("/writer", "WriterServlet");
+        Tomcat.addServlet(context, "BytesServlet", new BytesServlet());
+        context.addServletMappingDecoded("/bytes", "BytesServlet");
+        tomcat.getConnector(); // creates the default connector on the port set above
+        tomcat.start();
+
+        try {
+            String base = "http://localhost:" + tomcat.getConnector().getLocalPort();
+            System.out.printf("%d clients, %d s per path%n", clients, seconds);
+
+            // Alternate the paths twice so neither always runs on a colder JIT
+            for (int round = 0; round < 2; round++) {
+                for (String path : new String[]{"/writer", "/bytes"}) {
+                    LoadTest.Result result = LoadTest.run(URI.create(base + path), clients, seconds);
+                    if (round == 1) {
+                        System.out.printf("%-8s %9.0f req/s  p50 %6.2f ms  p99 %7.2f ms  errors %d%n",
+                                path, result.perSecond(), result.percentileMs(0.50), result.percentileMs(0.99),
+                                result.errors());
+                    }
+                }
+            }
+        }
+        finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+}
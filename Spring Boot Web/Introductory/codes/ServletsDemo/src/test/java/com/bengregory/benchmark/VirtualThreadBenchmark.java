@@ -0,0 +1,57 @@
+package com.bengregory.benchmark;
+
+import com.bengregory.App;
+import com.bengregory.ServerSettings;
+import org.apache.catalina.startup.Tomcat;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * /blocking under more clients than Tomcat has worker threads, once on the default platform
+ * thread pool and once with a virtual thread per request. Reports throughput, p99 and the highest
+ * number of requests the servlet saw blocked at the same time (its X-In-Flight header).
+ *
+ * Usage: VirtualThreadBenchmark [clients] [seconds] [delayMs]
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.benchmark.VirtualThreadBenchmark
+ */
+public class VirtualThreadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int delayMs = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        List<ServerSettings> scenarios = List.of(
+                ServerSettings.fromArgs("port=0", "maxThreads=200"),
+                ServerSettings.fromArgs("port=0", "virtualThreads=true")
+        );
+
+        System.out.printf("/blocking?ms=%d with %d clients for %d s%n", delayMs, clients, seconds);
+        for (ServerSettings settings : scenarios) {
+            Tomcat tomcat = App.start(settings);
+            try {
+                URI uri = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort()
+                        + "/blocking?ms=" + delayMs);
+
+                LoadTest.run(uri, clients, Math.max(1, seconds / 5)); // warm-up
+
+                LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+                LoadTest.Result result = LoadTest.run(uri, clients, seconds, response ->
+                        response.headers().firstValueAsLong("X-In-Flight").ifPresent(maxInFlight::accumulate));
+
+                String threads = settings.virtualThreads()
+                        ? "virtual threads"
+                        : "platform threads (maxThreads=" + settings.maxThreads() + ")";
+                System.out.printf("%-34s %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  max in-flight %5d  errors %d%n",
+                        threads, result.perSecond(), result.percentileMs(0.50), result.percentileMs(0.99),
+                        maxInFlight.get(), result.errors());
+            }
+            finally {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.bengregory.app.performance;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listens to the JVM's GC notifications instead of polling, so nothing runs between collections.
+ *
+ * Pauses: the duration of every stop-the-world collection, one histogram per collector.
+ * Allocation: new objects are created in the young generation (Eden), so what Eden held before a GC
+ * minus what it still held after the previous one is what the application allocated in between.
+ */
+@Component
+public class GcRecorder implements NotificationListener, DisposableBean {
+
+    private final Map<String, LatencyRecorder> pauses = new ConcurrentHashMap<>();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final Map<String, Long> youngUsedAfterGc = new ConcurrentHashMap<>();
+    private final List<MemoryPoolMXBean> youngPools;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    public GcRecorder() {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        List<MemoryPoolMXBean> eden = heapPools.stream()
+                .filter(pool -> pool.getName().contains("Eden") || pool.getName().contains("Young"))
+                .toList();
+        // Single-generation collectors (e.g. non-generational ZGC) have no Eden; use the whole heap
+        youngPools = eden.isEmpty() ? heapPools : eden;
+        youngPools.forEach(pool -> youngUsedAfterGc.put(pool.getName(), 0L));
+
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gc = info.getGcInfo();
+
+        for (MemoryPoolMXBean pool : youngPools) {
+            MemoryUsage before = gc.getMemoryUsageBeforeGc().get(pool.getName());
+            MemoryUsage after = gc.getMemoryUsageAfterGc().get(pool.getName());
+            if (before != null && after != null) {
+                allocatedBytes.add(Math.max(0, before.getUsed() - youngUsedAfterGc.get(pool.getName())));
+                youngUsedAfterGc.put(pool.getName(), after.getUsed());
+            }
+        }
+
+        if (!isConcurrent(info)) {
+            pauses.computeIfAbsent(info.getGcName(), name -> new LatencyRecorder())
+                    .record(gc.getDuration() * 1_000);
+        }
+    }
+
+    // Concurrent cycles run alongside the application; their duration is not a pause
+    private static boolean isConcurrent(GarbageCollectionNotificationInfo info) {
+        String name = info.getGcName();
+        return "No GC".equals(info.getGcCause())
+                || name.endsWith("Cycles")
+                || name.equals("G1 Concurrent GC");
+    }
+
+    // Bytes allocated since startup, including what has landed in Eden since the last collection
+    public long allocatedBytes() {
+        long sinceLastGc = 0;
+        for (MemoryPoolMXBean pool : youngPools) {
+            sinceLastGc += Math.max(0, pool.getUsage().getUsed() - youngUsedAfterGc.get(pool.getName()));
+        }
+        return allocatedBytes.sum() + sinceLastGc;
+    }
+
+    // Sorted by collector name so the endpoint output is stable between scrapes
+    public Map<String, LatencyRecorder> pauses() {
+        return new TreeMap<>(pauses);
+    }
+
+    @Override
+    public void destroy() {
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(this);
+                }
+                catch (ListenerNotFoundException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bengregory.app.performance;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every controller method (HomeController.helloWorld, HomeController.exitPage, ...).
+ * Keyed by the Java method rather than the URL, so "/" and "/home" share one entry and
+ * unknown URLs cannot grow the map. Recording is a map lookup plus a few atomic increments.
+ */
+@Component
+public class HandlerLatencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START = HandlerLatencyInterceptor.class.getName() + ".START";
+
+    public static final class HandlerStats {
+        private final String name;
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final LongAdder errors = new LongAdder();
+
+        HandlerStats(String name) {
+            this.name = name;
+        }
+
+        public LatencyRecorder latency() {
+            return latency;
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+
+    private final Map<Method, HandlerStats> handlers = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            // An async re-dispatch keeps the original start time, so the whole request is measured
+            if (request.getAttribute(START) == null) {
+                request.setAttribute(START, System.nanoTime());
+            }
+            peakInFlight.accumulate(inFlight.incrementAndGet());
+        }
+        return true;
+    }
+
+    // The request leaves the servlet thread until the async result is ready
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (handler instanceof HandlerMethod) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod method) || !(request.getAttribute(START) instanceof Long start)) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        request.removeAttribute(START);
+
+        HandlerStats stats = handlers.computeIfAbsent(method.getMethod(),
+                m -> new HandlerStats(method.getBeanType().getSimpleName() + "." + m.getName()));
+        stats.latency.record((System.nanoTime() - start) / 1_000);
+        if (ex != null || response.getStatus() >= 500) {
+            stats.errors.increment();
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    // Sorted by handler name so the endpoint output is stable between scrapes
+    public Map<String, HandlerStats> handlers() {
+        Map<String, HandlerStats> sorted = new TreeMap<>();
+        handlers.values().forEach(stats -> sorted.put(stats.name, stats));
+        return sorted;
+    }
+}
@@ -0,0 +1,102 @@
+package com.bengregory.app.performance;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram behind the performance endpoint: one per handler method (HandlerLatencyInterceptor) and one
+ * per collector for GC pauses (GcRecorder). Recording sits on the request path, so it is one atomic
+ * increment into fixed log-linear buckets, 8 per power of two, each within 12.5% of the values in it.
+ *
+ * A deliberate copy of ServletsDemo's com.bengregory.metrics.LatencyRecorder - every module here is a
+ * standalone Maven project with nothing shared - plus countAtOrBelow() for the GC pause histogram.
+ * Keep fixes to the bucket math in sync between the two.
+ */
+public final class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long micros) {
+        long value = Math.max(micros, 0);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sumMicros() {
+        return sum.sum();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * Lower bound of the bucket holding the given quantile (0.0 - 1.0), in microseconds.
+     * Reads the counters without stopping writers, so under load it is a close, not exact, snapshot.
+     */
+    public long percentileMicros(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(lowerBound(i), maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    /**
+     * Number of recorded values whose bucket starts at or below the given bound - a cumulative
+     * histogram bucket ("le") with the same 12.5% precision as the percentiles.
+     */
+    public long countAtOrBelow(long micros) {
+        long total = 0;
+        int last = bucketOf(Math.max(micros, 0));
+        for (int i = 0; i <= last; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    // Values below 16 get one bucket each; above that, each power of two is split into 8
+    static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bengregory.app.performance;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Applies to the application's own controllers only; actuator endpoints use a separate handler mapping
+@Configuration
+public class PerformanceConfig implements WebMvcConfigurer {
+
+    private final HandlerLatencyInterceptor handlerLatencyInterceptor;
+
+    public PerformanceConfig(HandlerLatencyInterceptor handlerLatencyInterceptor) {
+        this.handlerLatencyInterceptor = handlerLatencyInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(handlerLatencyInterceptor);
+    }
+}
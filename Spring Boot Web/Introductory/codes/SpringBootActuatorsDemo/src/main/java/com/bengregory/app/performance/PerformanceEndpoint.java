@@ -0,0 +1,93 @@
+package com.bengregory.app.performance;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Custom actuator endpoint at /actuator/performance: handler latency percentiles, allocation rate,
+ * GC pause histograms and thread-pool saturation in one response.
+ *
+ * Scrape guard: a snapshot is built at most once per {@code performance.endpoint.min-interval}.
+ * Scrapes inside that window get the cached snapshot, and while one caller rebuilds it the others
+ * keep getting the previous one instead of queueing up behind it.
+ */
+@Component
+@Endpoint(id = "performance")
+public class PerformanceEndpoint {
+
+    private record Cached(long nanos, long allocatedBytes, PerformanceSnapshot snapshot) {
+    }
+
+    private final HandlerLatencyInterceptor handlers;
+    private final GcRecorder gc;
+    private final ThreadPoolProbe threadPools;
+    private final long minIntervalNanos;
+
+    private final AtomicReference<Cached> cached = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public PerformanceEndpoint(HandlerLatencyInterceptor handlers, GcRecorder gc, ThreadPoolProbe threadPools,
+                               @Value("${performance.endpoint.min-interval:1s}") Duration minInterval) {
+        this.handlers = handlers;
+        this.gc = gc;
+        this.threadPools = threadPools;
+        this.minIntervalNanos = minInterval.toNanos();
+    }
+
+    @ReadOperation
+    public PerformanceSnapshot performance() {
+        Cached current = cached.get();
+        if (current != null && System.nanoTime() - current.nanos() < minIntervalNanos) {
+            return current.snapshot();
+        }
+        // Only one caller rebuilds; the very first scrape has nothing to fall back on, so it always builds
+        if (!refreshing.compareAndSet(false, true)) {
+            if (current != null) {
+                return current.snapshot();
+            }
+            return build(null).snapshot();
+        }
+        try {
+            Cached next = build(current);
+            cached.set(next);
+            return next.snapshot();
+        }
+        finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Cached build(Cached previous) {
+        long now = System.nanoTime();
+        long allocated = gc.allocatedBytes();
+        // Rate since the previous snapshot; the first one averages over the JVM's uptime
+        long bytesPerSecond = previous == null
+                ? allocated * 1_000 / Math.max(1, ManagementFactory.getRuntimeMXBean().getUptime())
+                : Math.max(0, allocated - previous.allocatedBytes()) * 1_000_000_000L / Math.max(1, now - previous.nanos());
+
+        Map<String, PerformanceSnapshot.Handler> handlerStats = new LinkedHashMap<>();
+        handlers.handlers().forEach((name, stats) ->
+                handlerStats.put(name, PerformanceSnapshot.Handler.of(stats.latency(), stats.errors())));
+
+        Map<String, PerformanceSnapshot.GcPauses> gcPauses = new LinkedHashMap<>();
+        gc.pauses().forEach((name, pauses) -> gcPauses.put(name, PerformanceSnapshot.GcPauses.of(pauses)));
+
+        PerformanceSnapshot snapshot = new PerformanceSnapshot(Instant.now(),
+                new PerformanceSnapshot.Requests(handlers.inFlight(), handlers.peakInFlight()),
+                handlerStats,
+                new PerformanceSnapshot.Allocation(allocated, bytesPerSecond),
+                gcPauses,
+                threadPools.pools());
+        return new Cached(now, allocated, snapshot);
+    }
+}
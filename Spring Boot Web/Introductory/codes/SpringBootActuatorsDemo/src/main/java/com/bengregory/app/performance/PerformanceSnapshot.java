@@ -0,0 +1,65 @@
+package com.bengregory.app.performance;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What /actuator/performance returns. Times are in milliseconds; {@code timestamp} says when the
+ * snapshot was taken, since scrapes inside the minimum interval get the previous one back.
+ */
+public record PerformanceSnapshot(Instant timestamp,
+                                  Requests requests,
+                                  Map<String, Handler> handlers,
+                                  Allocation allocation,
+                                  Map<String, GcPauses> gcPauses,
+                                  Map<String, ThreadPool> threadPools) {
+
+    // Upper bounds of the cumulative GC pause buckets, in milliseconds
+    private static final long[] PAUSE_BUCKETS_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+    public record Requests(int inFlight, long peakInFlight) {
+    }
+
+    public record Handler(long count, long errors, double meanMs, double p50Ms, double p90Ms, double p99Ms,
+                          double p999Ms, double maxMs) {
+
+        static Handler of(LatencyRecorder latency, long errors) {
+            long count = latency.count();
+            return new Handler(count, errors, count == 0 ? 0 : millis(latency.sumMicros()) / count,
+                    millis(latency.percentileMicros(0.5)), millis(latency.percentileMicros(0.9)),
+                    millis(latency.percentileMicros(0.99)), millis(latency.percentileMicros(0.999)),
+                    millis(latency.maxMicros()));
+        }
+    }
+
+    public record Allocation(long totalBytes, long bytesPerSecond) {
+    }
+
+    public record GcPauses(long count, double totalMs, double p50Ms, double p99Ms, double maxMs,
+                           Map<String, Long> histogram) {
+
+        static GcPauses of(LatencyRecorder pauses) {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (long bound : PAUSE_BUCKETS_MS) {
+                histogram.put("le_" + bound + "ms", pauses.countAtOrBelow(bound * 1_000));
+            }
+            histogram.put("le_inf", pauses.count());
+            return new GcPauses(pauses.count(), millis(pauses.sumMicros()), millis(pauses.percentileMicros(0.5)),
+                    millis(pauses.percentileMicros(0.99)), millis(pauses.maxMicros()), histogram);
+        }
+    }
+
+    // saturation is active / max threads: 1.0 means new work waits in the queue
+    public record ThreadPool(int active, int poolSize, int maxPoolSize, int queued, double saturation) {
+
+        static ThreadPool of(int active, int poolSize, int maxPoolSize, int queued) {
+            return new ThreadPool(active, poolSize, maxPoolSize, queued,
+                    maxPoolSize <= 0 ? 0 : (double) active / maxPoolSize);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bengregory.app.performance;
+
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads the current state of Tomcat's request thread pool and of Spring's ThreadPoolTaskExecutors.
+ * These are plain getters on the pools, only called when the endpoint builds a snapshot.
+ */
+@Component
+public class ThreadPoolProbe implements ApplicationListener<WebServerInitializedEvent> {
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    // Only known once the embedded server has started
+    private volatile Executor tomcatExecutor;
+
+    public ThreadPoolProbe(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (event.getWebServer() instanceof TomcatWebServer tomcat) {
+            tomcatExecutor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        }
+    }
+
+    public Map<String, PerformanceSnapshot.ThreadPool> pools() {
+        Map<String, PerformanceSnapshot.ThreadPool> pools = new TreeMap<>();
+        // With virtual threads Tomcat has no bounded pool to saturate, so there is nothing to report
+        if (tomcatExecutor instanceof ThreadPoolExecutor tomcat) {
+            pools.put("tomcat", PerformanceSnapshot.ThreadPool.of(tomcat.getActiveCount(), tomcat.getPoolSize(),
+                    tomcat.getMaximumPoolSize(), tomcat.getQueue().size()));
+        }
+        // Keyed by bean name, e.g. Spring Boot's "applicationTaskExecutor"
+        // Only executors that already exist: allowEagerInit=false leaves FactoryBeans alone, and the
+        // containsSingleton check keeps a lazy executor nobody has used from being created just to report zeros
+        for (String name : beanFactory.getBeanNamesForType(ThreadPoolTaskExecutor.class, true, false)) {
+            if (beanFactory.containsSingleton(name)) {
+                ThreadPoolTaskExecutor executor = beanFactory.getBean(name, ThreadPoolTaskExecutor.class);
+                pools.put(name, PerformanceSnapshot.ThreadPool.of(executor.getActiveCount(),
+                        executor.getPoolSize(), executor.getMaxPoolSize(), executor.getQueueSize()));
+            }
+        }
+        return pools;
+    }
+}
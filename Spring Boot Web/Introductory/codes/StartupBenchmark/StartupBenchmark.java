@@ -0,0 +1,221 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup benchmark for the Spring Boot modules (SpringBootDemo, JobApp, SpringREST, EmployeeManagement).
+ *
+ * Build the module first with its "startup" Maven profile:  mvn -Pstartup package -DskipTests
+ * then run this file directly (Java 17+) with the same JDK that built the module - a CDS archive
+ * is only accepted by the exact JVM that created it:
+ *
+ *   java StartupBenchmark.java <module-dir> [path] [runs] [app-args...]
+ *
+ *   java StartupBenchmark.java "../../../REST CRUD APIs/codes v2/SpringREST" /demo/hello 5
+ *   java StartupBenchmark.java "../../../../Spring Framework/Introduction/codes/SpringBootDemo" - 5
+ *
+ * For web modules the clock stops at the first HTTP response to {@code path} (any status counts, a 401 from
+ * Spring Security still means the server is serving). For "-" it stops when the app logs "Started ".
+ * RSS is sampled at that same moment. Each mode adds one technique on top of the previous one.
+ * Any further arguments go to the application after {@code --server.port}, e.g. a datasource override
+ * {@code --spring.datasource.url=jdbc:mysql://localhost:3307/employee_directory}.
+ *
+ * Medians of 5 runs on a single-CPU Linux VM, baseline -> lazy + AOT + CDS:
+ *   SpringBootDemo (JDK 17, "-")                 5.9 s / 111 MB -> 3.2 s / 102 MB
+ *   SpringREST (JDK 21, /demo/hello)            15.0 s / 156 MB -> 7.8 s / 140 MB
+ *   JobApp (JDK 21, "-")                        12.2 s / 151 MB -> 5.4 s / 141 MB
+ *   JobApp (JDK 21, /)                          17.3 s / 175 MB -> 11.6 s / 178 MB
+ *   EmployeeManagement (JDK 21, "-")            20.1 s / 235 MB -> 13.5 s / 219 MB
+ *   EmployeeManagement (JDK 21, /api/employees) 29.7 s / 237 MB -> 16.3 s / 228 MB
+ * SpringREST and EmployeeManagement set java.version 25 in their poms; both jars were built on JDK 21 with
+ * mvn -Pstartup package -DskipTests -Djava.version=21.
+ * JobApp's "/" is a JSP, which Jasper compiles on the first request whatever the mode; that costs the
+ * same ~5 s in every run. EmployeeManagement ran against a local MariaDB on the same VM, passed as
+ * --spring.datasource.url=jdbc:mysql://localhost:3307/employee_directory; the database shares the one CPU,
+ * and single runs were up to ~3 s below the median.
+ */
+public class StartupBenchmark {
+
+    record Mode(String name, List<String> jvmArgs, boolean extracted) {
+    }
+
+    record Sample(long millis, long rssKb) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: java StartupBenchmark.java <module-dir> [path|-] [runs] [app-args...]");
+            return;
+        }
+        Path module = Path.of(args[0]).toAbsolutePath().normalize();
+        String path = args.length > 1 ? args[1] : "/";
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        List<String> appArgs = args.length > 3 ? List.of(args).subList(3, args.length) : List.of();
+
+        Path jar = findJar(module.resolve("target"));
+        Path cdsDir = module.resolve("target/cds");
+        Path archive = cdsDir.resolve("application.jsa");
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("baseline", List.of(), false));
+        modes.add(new Mode("lazy init", List.of("-Dspring.profiles.active=startup"), false));
+        if (Files.isDirectory(module.resolve("target/spring-aot"))) {
+            modes.add(new Mode("lazy + AOT",
+                    List.of("-Dspring.profiles.active=startup", "-Dspring.aot.enabled=true"), false));
+        }
+        if (Files.exists(archive)) {
+            modes.add(new Mode("lazy + AOT + CDS",
+                    List.of("-Dspring.profiles.active=startup", "-Dspring.aot.enabled=true",
+                            "-XX:SharedArchiveFile=" + archive), true));
+        }
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        System.out.printf("%s (%s), %d run(s) per mode, first request %s%n",
+                module.getFileName(), jar.getFileName(), runs, path);
+
+        for (Mode mode : modes) {
+            Path modeJar = mode.extracted() ? cdsDir.resolve(jar.getFileName()) : jar;
+            long[] millis = new long[runs];
+            long[] rss = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Sample sample = runOnce(java, mode, modeJar, module, path, appArgs);
+                millis[i] = sample.millis();
+                rss[i] = sample.rssKb();
+            }
+            System.out.printf("%-18s time to first %s: median %5d ms (min %5d)   RSS: median %4d MB%n",
+                    mode.name(), path.equals("-") ? "log line" : "request",
+                    median(millis), Arrays.stream(millis).min().orElse(0), median(rss) / 1024);
+        }
+    }
+
+    static Sample runOnce(String java, Mode mode, Path jar, Path workDir, String path, List<String> appArgs)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+
+        // Drains the output (a full pipe would stall the app) and watches for Spring Boot's startup line
+        CountDownLatch started = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (line.contains("Started ")) {
+                        started.countDown();
+                    }
+                }
+            }
+            catch (IOException ignored) {
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            long rssKb;
+            if (path.equals("-")) {
+                if (!started.await(2, TimeUnit.MINUTES)) {
+                    throw new IllegalStateException("No \"Started\" log line within 2 minutes: " + command);
+                }
+                rssKb = rssKb(process.pid());
+            }
+            else {
+                awaitFirstResponse(process, URI.create("http://localhost:" + port + path));
+                rssKb = rssKb(process.pid());
+            }
+            return new Sample((System.nanoTime() - start) / 1_000_000, rssKb);
+        }
+        finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            reader.join();
+        }
+    }
+
+    static void awaitFirstResponse(Process process, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue()
+                        + " before serving " + uri);
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            }
+            catch (IOException notListeningYet) {
+                Thread.sleep(5);
+            }
+        }
+        throw new IllegalStateException("No response from " + uri + " within 2 minutes");
+    }
+
+    // VmRSS from /proc on Linux, ps elsewhere; 0 if the process is already gone
+    static long rssKb(long pid) {
+        try {
+            Path status = Path.of("/proc/" + pid + "/status");
+            if (Files.exists(status)) {
+                try (Stream<String> lines = Files.lines(status)) {
+                    return lines.filter(l -> l.startsWith("VmRSS:"))
+                            .map(l -> Long.parseLong(l.replaceAll("\\D+", "")))
+                            .findFirst().orElse(0L);
+                }
+            }
+            Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+            String out = new String(ps.getInputStream().readAllBytes()).trim();
+            return out.isEmpty() ? 0 : Long.parseLong(out);
+        }
+        catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static Path findJar(Path target) throws IOException {
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(f -> f.toString().endsWith(".jar") && !f.toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + target + " - run mvn -Pstartup package first"));
+        }
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -1,11 +1,14 @@
 package com.bengregory.app;
 
+import com.bengregory.app.model.PriceChange;
+import com.bengregory.app.model.PriceUpdateResult;
 import com.bengregory.app.model.Product;
 import com.bengregory.app.service.ProductService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @SpringBootApplication
@@ -15,18 +18,21 @@ public class SpringBootJDBC {
 
 		ApplicationContext context = SpringApplication.run(SpringBootJDBC.class, args);
 
-		Product product = context.getBean(Product.class);
-		product.setProductId(106);
-		product.setName("Smart Watch");
-		product.setBrand("Apple");
-		product.setPrice(399.99);
+		Product product = new Product(106, "Smart Watch", "Apple", new BigDecimal("399.99"));
 
 		ProductService productService = context.getBean(ProductService.class);
-		productService.addProduct(product);
+		// Upsert instead of a plain INSERT, so running this against an existing database does not hit a duplicate key
+		productService.saveProducts(List.of(product));
 
 		List<Product> products = productService.getProducts();
 		System.out.println("Products in the database:");
 		products.forEach(System.out::println);
+
+		// Two writers both read version 0 of product 101; only the first price change wins
+		PriceUpdateResult result = productService.updatePrices(List.of(
+				new PriceChange(101, 0, new BigDecimal("1150.00")),
+				new PriceChange(101, 0, new BigDecimal("1099.00"))));
+		System.out.println(result.updated() + " price(s) updated, conflicts: " + result.conflicts());
 	}
 
 }
@@ -0,0 +1,55 @@
+package com.bengregory.app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Pool instrumentation for the "prod" profile; pool sizing itself lives in application-prod.properties
+@Configuration
+@Profile("prod")
+@EnableScheduling
+public class DataSourceConfig {
+
+    @Bean
+    public PoolMetrics poolMetrics() {
+        return new PoolMetrics();
+    }
+
+    // The tracker has to be attached before Hikari starts the pool, i.e. before anyone borrows a connection
+    @Bean
+    public static BeanPostProcessor poolMetricsPostProcessor(ObjectProvider<PoolMetrics> poolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMetricsTrackerFactory(poolMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public PoolMetricsReporter poolMetricsReporter(PoolMetrics poolMetrics) {
+        return new PoolMetricsReporter(poolMetrics);
+    }
+
+    public static class PoolMetricsReporter {
+
+        private final PoolMetrics poolMetrics;
+
+        public PoolMetricsReporter(PoolMetrics poolMetrics) {
+            this.poolMetrics = poolMetrics;
+        }
+
+        @Scheduled(fixedRateString = "${products.pool.report-interval:60000}")
+        public void report() {
+            System.out.println(poolMetrics.snapshot());
+        }
+    }
+}
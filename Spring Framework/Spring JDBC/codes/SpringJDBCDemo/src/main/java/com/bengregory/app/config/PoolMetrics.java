@@ -0,0 +1,75 @@
+package com.bengregory.app.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Hikari metrics tracker that keeps the pool numbers we care about in a few counters:
+ * active/idle/pending connections, time spent waiting for a connection and acquisition timeouts.
+ * Hikari calls it on every borrow, so it only uses LongAdder/LongAccumulator (no locks).
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public Snapshot snapshot() {
+        PoolStats stats = poolStats;
+        long count = acquisitions.sum();
+        double avgWaitMillis = count == 0 ? 0 : acquireNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+
+        return new Snapshot(
+                stats == null ? 0 : stats.getActiveConnections(),
+                stats == null ? 0 : stats.getIdleConnections(),
+                stats == null ? 0 : stats.getPendingThreads(),
+                count,
+                avgWaitMillis,
+                maxAcquireNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                usageMillis.sum(),
+                timeouts.sum());
+    }
+
+    public record Snapshot(int active, int idle, int pending, long acquisitions,
+                           double avgWaitMillis, double maxWaitMillis, long usageMillis, long timeouts) {
+
+        @Override
+        public String toString() {
+            return String.format("pool{active=%d, idle=%d, pending=%d, acquisitions=%d, avgWait=%.3fms, maxWait=%.3fms, timeouts=%d}",
+                    active, idle, pending, acquisitions, avgWaitMillis, maxWaitMillis, timeouts);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.bengregory.app.model;
+
+import java.math.BigDecimal;
+
+// A price update that only applies if the row is still at expectedVersion
+public record PriceChange(int productId, int expectedVersion, BigDecimal newPrice) {
+}
@@ -0,0 +1,11 @@
+package com.bengregory.app.model;
+
+import java.util.List;
+
+// Outcome of a batched price update: rows changed, and the changes that lost to a concurrent write
+public record PriceUpdateResult(int updated, List<PriceChange> conflicts) {
+
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+}
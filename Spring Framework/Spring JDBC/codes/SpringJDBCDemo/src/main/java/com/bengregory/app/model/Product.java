@@ -1,55 +1,12 @@
 package com.bengregory.app.model;
 
-import org.springframework.context.annotation.Scope;
-import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
 
-@Component
-@Scope(value = "prototype")
-public class Product {
-    private int product_id;
-    private String name;
-    private String brand;
-    private double price;
+// Immutable product row; price stays a BigDecimal so DECIMAL(10,2) values are not truncated
+// version is the optimistic-lock counter, bumped by every update
+public record Product(int productId, String name, String brand, BigDecimal price, int version) {
 
-    public int getProductId() {
-        return product_id;
-    }
-
-    public void setProductId(int product_id) {
-        this.product_id = product_id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public String getBrand() {
-        return brand;
-    }
-
-    public void setBrand(String brand) {
-        this.brand = brand;
-    }
-
-    public double getPrice() {
-        return price;
-    }
-
-    public void setPrice(double price) {
-        this.price = price;
-    }
-
-    @Override
-    public String toString() {
-        return "Product{" +
-                "productId=" + product_id +
-                ", name='" + name + '\'' +
-                ", brand='" + brand + '\'' +
-                ", price=" + price +
-                '}';
+    public Product(int productId, String name, String brand, BigDecimal price) {
+        this(productId, name, brand, price, 0);
     }
 }
@@ -1,16 +1,48 @@
 package com.bengregory.app.repository;
 
+import com.bengregory.app.model.PriceChange;
+import com.bengregory.app.model.PriceUpdateResult;
 import com.bengregory.app.model.Product;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class ProductRepository {
 
+    private static final String PRODUCT_COLUMNS = "product_id, name, brand, price, version";
+    private static final String INSERT_COLUMNS = "product_id, name, brand, price";
+
+    // Standard SQL MERGE (H2, Oracle, SQL Server, DB2); updates bump the version, new rows start at 0
+    private static final String MERGE_UPSERT = "MERGE INTO products p"
+            + " USING (VALUES (CAST(? AS INT), CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(50)), CAST(? AS DECIMAL(10,2))))"
+            + " AS s (product_id, name, brand, price) ON p.product_id = s.product_id"
+            + " WHEN MATCHED THEN UPDATE SET name = s.name, brand = s.brand, price = s.price, version = p.version + 1"
+            + " WHEN NOT MATCHED THEN INSERT (" + INSERT_COLUMNS + ") VALUES (s.product_id, s.name, s.brand, s.price)";
+
+    // PostgreSQL (and SQLite) spelling of the same upsert
+    private static final String ON_CONFLICT_UPSERT = "INSERT INTO products (" + INSERT_COLUMNS + ") VALUES (?,?,?,?)"
+            + " ON CONFLICT (product_id) DO UPDATE SET name = EXCLUDED.name, brand = EXCLUDED.brand,"
+            + " price = EXCLUDED.price, version = products.version + 1";
+
     private JdbcTemplate jdbc;
+    private int batchSize = 500;
+    private int fetchSize = 1000;
+    private volatile String upsertQuery;
 
     public JdbcTemplate getJdbc() {
         return jdbc;
@@ -21,29 +53,190 @@ public class ProductRepository {
         this.jdbc = jdbc;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Value("${products.jdbc.batch-size:500}")
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @Value("${products.jdbc.fetch-size:1000}")
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     public void save(Product product){
-        String saveQuery = "INSERT INTO products (product_id, name, brand, price) VALUES (?,?,?,?)";
-        int rows = jdbc.update(saveQuery, product.getProductId(), product.getName(), product.getBrand(), product.getPrice());
+        String saveQuery = "INSERT INTO products (" + INSERT_COLUMNS + ") VALUES (?,?,?,?)";
+        int rows = jdbc.update(saveQuery, product.productId(), product.name(), product.brand(), product.price());
 
-        if(rows > 0) System.out.println("Successfully added " + product.getName() + " to the database!");
-        else System.out.println("Failed to add " + product.getName() + " to the database!");
+        if(rows > 0) System.out.println("Successfully added " + product.name() + " to the database!");
+        else System.out.println("Failed to add " + product.name() + " to the database!");
         System.out.println(rows + " rows affected.");
     }
 
+    // Sends the inserts in JDBC batches of batchSize rows instead of one round trip per product
+    public int saveAll(List<Product> products) {
+        String saveQuery = "INSERT INTO products (" + INSERT_COLUMNS + ") VALUES (?,?,?,?)";
+
+        return writeAll(saveQuery, products);
+    }
+
+    // Insert-or-update by product_id, so re-running an import does not fail on duplicate keys
+    public int upsertAll(List<Product> products) {
+        return writeAll(upsertQuery(), products);
+    }
+
+    /*
+     * Applies every price change in a single JDBC batch (one executeBatch round trip).
+     * Each UPDATE only matches if the row is still at the version the caller read, so a change
+     * that lost a race to another writer updates 0 rows and is reported back as a conflict.
+     */
+    public PriceUpdateResult updatePrices(List<PriceChange> changes) {
+        String updateQuery = "UPDATE products SET price = ?, version = version + 1 WHERE product_id = ? AND version = ?";
+
+        int[] counts = jdbc.batchUpdate(updateQuery, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PriceChange change = changes.get(i);
+                ps.setBigDecimal(1, change.newPrice());
+                ps.setInt(2, change.productId());
+                ps.setInt(3, change.expectedVersion());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+
+        int updated = 0;
+        List<PriceChange> conflicts = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO means the driver cannot tell; only an explicit 0 is a conflict
+            if (counts[i] == 0) conflicts.add(changes.get(i));
+            else updated++;
+        }
+        return new PriceUpdateResult(updated, conflicts);
+    }
+
     public List<Product> findAll() {
 
-        String fetchQuery = "SELECT * FROM products";
+        String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products";
 
-        // Use RowMapper to map each row of the result set to a Product object
-        RowMapper<Product> mapper = (rs, rowNum) -> {
-                Product product = new Product();
-                product.setProductId(rs.getInt("product_id"));
-                product.setName(rs.getString("name"));
-                product.setBrand(rs.getString("brand"));
-                product.setPrice(rs.getInt("price"));
-                return product;
+        return jdbc.query(fetchQuery, new ProductRowMapper());
+    }
+
+    /*
+     * Catalog queries use keyset pagination: pass the last product of the previous page as "after"
+     * (null for the first page). The WHERE clause seeks past it on the index instead of skipping
+     * OFFSET rows, so page 1000 costs the same as page 1.
+     */
+    public List<Product> findByBrand(String brand, Product after, int limit) {
+        int afterId = after == null ? Integer.MIN_VALUE : after.productId();
+        // brand is fixed by the WHERE clause, but ordering by it too lets the (brand, product_id) index be read in order instead of sorting every match
+        String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products"
+                + " WHERE brand = ? AND product_id > ?"
+                + " ORDER BY brand, product_id LIMIT ?";
+
+        return jdbc.query(fetchQuery, new ProductRowMapper(), brand, afterId, limit);
+    }
+
+    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Product after, int limit) {
+        if (after == null) {
+            String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products"
+                    + " WHERE price BETWEEN ? AND ?"
+                    + " ORDER BY price, product_id LIMIT ?";
+            return jdbc.query(fetchQuery, new ProductRowMapper(), minPrice, maxPrice, limit);
+        }
+
+        // The redundant "price >= ?" bound gives the optimizer an index range to seek to
+        String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products"
+                + " WHERE price >= ? AND price <= ? AND (price > ? OR product_id > ?)"
+                + " ORDER BY price, product_id LIMIT ?";
+        return jdbc.query(fetchQuery, new ProductRowMapper(),
+                after.price(), maxPrice, after.price(), after.productId(), limit);
+    }
+
+    public List<Product> findByNamePrefix(String prefix, Product after, int limit) {
+        // Escape LIKE wildcards so the prefix is matched literally and the name index can still be used
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        if (after == null) {
+            String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products"
+                    + " WHERE name LIKE ? ESCAPE '\\'"
+                    + " ORDER BY name, product_id LIMIT ?";
+            return jdbc.query(fetchQuery, new ProductRowMapper(), pattern, limit);
+        }
+
+        String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products"
+                + " WHERE name LIKE ? ESCAPE '\\' AND name >= ? AND (name > ? OR product_id > ?)"
+                + " ORDER BY name, product_id LIMIT ?";
+        return jdbc.query(fetchQuery, new ProductRowMapper(),
+                pattern, after.name(), after.name(), after.productId(), limit);
+    }
+
+    // Lazily maps rows as the caller consumes them; the stream holds an open connection, so close it (try-with-resources)
+    public Stream<Product> streamAll() {
+        String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products ORDER BY product_id";
+
+        return jdbc.queryForStream(streamingStatement(fetchQuery), new ProductRowMapper());
+    }
+
+    // Pushes each row to the consumer without buffering the whole result set
+    public void forEachProduct(Consumer<Product> action) {
+        String fetchQuery = "SELECT " + PRODUCT_COLUMNS + " FROM products ORDER BY product_id";
+
+        ProductRowMapper mapper = new ProductRowMapper();
+        jdbc.query(streamingStatement(fetchQuery), rs -> {
+            action.accept(mapper.mapRow(rs, rs.getRow()));
+        });
+    }
+
+    // Forward-only, read-only statement that pulls fetchSize rows per round trip
+    private PreparedStatementCreator streamingStatement(String sql, Object... args) {
+        return connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
         };
+    }
+
+    private int writeAll(String sql, List<Product> products) {
+        int[][] counts = jdbc.batchUpdate(sql, products, batchSize, (ps, product) -> {
+            ps.setInt(1, product.productId());
+            ps.setString(2, product.name());
+            ps.setString(3, product.brand());
+            ps.setBigDecimal(4, product.price());
+        });
+
+        int rows = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Some drivers report SUCCESS_NO_INFO (-2) instead of a row count
+                rows += count >= 0 ? count : 1;
+            }
+        }
+        return rows;
+    }
 
-        return jdbc.query(fetchQuery, mapper);
+    // Picks the upsert dialect from the connected database once, on first use
+    private String upsertQuery() {
+        String query = upsertQuery;
+        if (query == null) {
+            String database = jdbc.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            String name = database == null ? "" : database.toLowerCase(Locale.ROOT);
+            query = name.contains("postgres") || name.contains("sqlite") ? ON_CONFLICT_UPSERT : MERGE_UPSERT;
+            upsertQuery = query;
+        }
+        return query;
     }
 }
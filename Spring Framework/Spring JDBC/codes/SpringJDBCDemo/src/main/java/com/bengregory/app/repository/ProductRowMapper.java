@@ -0,0 +1,73 @@
+package com.bengregory.app.repository;
+
+import com.bengregory.app.model.Product;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Index-based RowMapper for Product. Create one per query (it is a plain object, cheap to build):
+ * the column indexes are resolved on the first row and every row after that is read by index.
+ * The resolution itself is cached per result-set shape (the list of column labels) and shared
+ * by all instances, so concurrent queries never contend on or overwrite each other's state.
+ */
+public final class ProductRowMapper implements RowMapper<Product> {
+
+    private static final String[] COLUMNS = {"product_id", "name", "brand", "price", "version"};
+
+    // version may be left out of a query; it then maps to 0
+    private static final int OPTIONAL_FROM = 4;
+
+    // Column-label signature -> {product_id, name, brand, price, version} indexes (0 = column not selected)
+    private static final Map<String, int[]> SHAPES = new ConcurrentHashMap<>();
+
+    // Indexes for the query this instance is mapping; only touched by the thread reading its rows
+    private int[] indexes;
+
+    @Override
+    public Product mapRow(ResultSet rs, int rowNum) throws SQLException {
+        int[] idx = indexes;
+        if (idx == null) {
+            idx = indexesFor(rs.getMetaData());
+            indexes = idx;
+        }
+
+        return new Product(
+                rs.getInt(idx[0]),
+                rs.getString(idx[1]),
+                rs.getString(idx[2]),
+                rs.getBigDecimal(idx[3]),
+                idx[4] == 0 ? 0 : rs.getInt(idx[4]));
+    }
+
+    private static int[] indexesFor(ResultSetMetaData meta) throws SQLException {
+        int count = meta.getColumnCount();
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = meta.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+        }
+
+        return SHAPES.computeIfAbsent(String.join(",", labels), key -> resolve(labels));
+    }
+
+    private static int[] resolve(String[] labels) {
+        int[] idx = new int[COLUMNS.length];
+        for (int c = 0; c < COLUMNS.length; c++) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i].equals(COLUMNS[c])) {
+                    idx[c] = i + 1;
+                    break;
+                }
+            }
+            if (idx[c] == 0 && c < OPTIONAL_FROM) {
+                throw new IllegalArgumentException("Result set has no '" + COLUMNS[c] + "' column: " + String.join(",", labels));
+            }
+        }
+        return idx;
+    }
+}
@@ -1,11 +1,16 @@
 package com.bengregory.app.service;
 
+import com.bengregory.app.model.PriceChange;
+import com.bengregory.app.model.PriceUpdateResult;
 import com.bengregory.app.model.Product;
 import com.bengregory.app.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
@@ -25,7 +30,39 @@ public class ProductService {
         productRepository.save(product);
     }
 
+    public int addProducts(List<Product> products) {
+        return productRepository.saveAll(products);
+    }
+
+    public int saveProducts(List<Product> products) {
+        return productRepository.upsertAll(products);
+    }
+
+    public PriceUpdateResult updatePrices(List<PriceChange> changes) {
+        return productRepository.updatePrices(changes);
+    }
+
     public List<Product> getProducts() {
         return productRepository.findAll();
     }
+
+    public List<Product> getProductsByBrand(String brand, Product after, int pageSize) {
+        return productRepository.findByBrand(brand, after, pageSize);
+    }
+
+    public List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Product after, int pageSize) {
+        return productRepository.findByPriceRange(minPrice, maxPrice, after, pageSize);
+    }
+
+    public List<Product> getProductsByNamePrefix(String prefix, Product after, int pageSize) {
+        return productRepository.findByNamePrefix(prefix, after, pageSize);
+    }
+
+    public Stream<Product> streamProducts() {
+        return productRepository.streamAll();
+    }
+
+    public void forEachProduct(Consumer<Product> action) {
+        productRepository.forEachProduct(action);
+    }
 }
@@ -2,5 +2,11 @@ CREATE TABLE products (
     product_id INT PRIMARY KEY,
     name VARCHAR(50) NOT NULL,
     brand VARCHAR(50),
-    price DECIMAL(10,2) NOT NULL
-);
\ No newline at end of file
+    price DECIMAL(10,2) NOT NULL,
+    version INT DEFAULT 0 NOT NULL
+);
+
+-- Catalog lookups; product_id is the trailing column so keyset pages are read straight off the index
+CREATE INDEX idx_products_brand ON products (brand, product_id);
+CREATE INDEX idx_products_price ON products (price, product_id);
+CREATE INDEX idx_products_name ON products (name, product_id);
@@ -0,0 +1,112 @@
+package com.bengregory.app.benchmark;
+
+import com.bengregory.app.config.PoolMetrics;
+import com.bengregory.app.model.Product;
+import com.bengregory.app.repository.ProductRepository;
+import com.bengregory.app.service.ProductService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Runs a fixed number of client threads doing a mix of addProduct and product reads
+ * against Hikari pools of different sizes, and prints throughput plus PoolMetrics per size.
+ *
+ * Reads fetch one page by brand rather than getProducts(): the table keeps growing during
+ * the run, so a full-table read would measure the table size instead of the pool.
+ *
+ * Usage: PoolSizeLoadHarness [threads] [seconds] [writePercent] [poolSizes...]
+ * e.g.   PoolSizeLoadHarness 64 10 20 2 4 8 16 32
+ */
+public class PoolSizeLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int writePercent = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        List<Integer> poolSizes = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            poolSizes.add(Integer.parseInt(args[i]));
+        }
+        if (poolSizes.isEmpty()) {
+            poolSizes = List.of(2, 4, 8, 16, 32);
+        }
+
+        System.out.printf("%d threads, %ds per run, %d%% writes%n", threads, seconds, writePercent);
+        System.out.printf("%-6s %12s %10s %10s  %s%n", "pool", "ops/s", "writes/s", "reads/s", "pool metrics");
+        for (int poolSize : poolSizes) {
+            run(poolSize, threads, seconds, writePercent);
+        }
+    }
+
+    private static void run(int poolSize, int threads, int seconds, int writePercent) throws InterruptedException {
+        PoolMetrics metrics = new PoolMetrics();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:pool" + poolSize + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(2000);
+        config.setMetricsTrackerFactory(metrics);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            ProductDataGenerator generator = new ProductDataGenerator(jdbc);
+            generator.createSchema(true);
+            generator.load(100_000);
+
+            ProductRepository repository = new ProductRepository();
+            repository.setJdbc(jdbc);
+            ProductService service = new ProductService();
+            service.setProductRepository(repository);
+
+            AtomicInteger nextId = new AtomicInteger(1_000_000);
+            LongAdder writes = new LongAdder();
+            LongAdder reads = new LongAdder();
+            LongAdder errors = new LongAdder();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            CountDownLatch done = new CountDownLatch(threads);
+
+            for (int t = 0; t < threads; t++) {
+                Thread worker = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            if (random.nextInt(100) < writePercent) {
+                                int id = nextId.getAndIncrement();
+                                // addProducts goes through the same INSERT as addProduct, minus the console output
+                                service.addProducts(List.of(new Product(id, "Load " + id, "Brand " + (id % 20), BigDecimal.valueOf(id % 100_000, 2))));
+                                writes.increment();
+                            } else {
+                                String brand = ProductDataGenerator.BRANDS[random.nextInt(ProductDataGenerator.BRANDS.length)];
+                                service.getProductsByBrand(brand, null, 20);
+                                reads.increment();
+                            }
+                        } catch (RuntimeException e) {
+                            errors.increment();
+                        }
+                    }
+                    done.countDown();
+                });
+                worker.start();
+            }
+            done.await();
+
+            long w = writes.sum();
+            long r = reads.sum();
+            System.out.printf("%-6d %12.0f %10.0f %10.0f  %s errors=%d%n",
+                    poolSize, (w + r) / (double) seconds, w / (double) seconds, r / (double) seconds,
+                    metrics.snapshot(), errors.sum());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bengregory.app.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Fills the products table with synthetic catalog rows for the query benchmarks.
+ * Uses a fixed seed so every run sees the same brand/price/name distribution.
+ */
+public class ProductDataGenerator {
+
+    public static final String[] BRANDS = {
+            "Apple", "Asus", "Dell", "HP", "Lenovo", "LG", "Samsung", "Sony", "Xiaomi", "Acer",
+            "Bose", "Canon", "Nikon", "Logitech", "Razer", "Philips", "Panasonic", "Google", "OnePlus", "Huawei"
+    };
+
+    // Roughly 1 row in 1000 gets this brand, for selective-lookup benchmarks
+    public static final String RARE_BRAND = "Nothing";
+
+    private static final String[] ITEMS = {
+            "Laptop", "Phone", "Tablet", "Monitor", "Headphones", "Keyboard", "Mouse", "Camera", "Speaker", "Watch"
+    };
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbc;
+
+    public ProductDataGenerator(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void createSchema(boolean withIndexes) {
+        jdbc.execute("CREATE TABLE products (product_id INT PRIMARY KEY, name VARCHAR(50) NOT NULL, brand VARCHAR(50), price DECIMAL(10,2) NOT NULL, version INT DEFAULT 0 NOT NULL)");
+        if (withIndexes) {
+            jdbc.execute("CREATE INDEX idx_products_brand ON products (brand, product_id)");
+            jdbc.execute("CREATE INDEX idx_products_price ON products (price, product_id)");
+            jdbc.execute("CREATE INDEX idx_products_name ON products (name, product_id)");
+        }
+    }
+
+    public void load(int rows) {
+        Random random = new Random(42);
+        String insertQuery = "INSERT INTO products (product_id, name, brand, price) VALUES (?,?,?,?)";
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int id = 1; id <= rows; id++) {
+            String name = ITEMS[random.nextInt(ITEMS.length)] + " " + Integer.toString(random.nextInt(1_000_000), 36);
+            String brand = random.nextInt(1000) == 0 ? RARE_BRAND : BRANDS[random.nextInt(BRANDS.length)];
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(500_000), 2);
+            batch.add(new Object[]{id, name, brand, price});
+
+            if (batch.size() == BATCH_SIZE) {
+                jdbc.batchUpdate(insertQuery, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(insertQuery, batch);
+        }
+    }
+}
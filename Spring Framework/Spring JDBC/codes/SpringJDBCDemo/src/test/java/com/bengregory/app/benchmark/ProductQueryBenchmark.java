@@ -0,0 +1,118 @@
+package com.bengregory.app.benchmark;
+
+import com.bengregory.app.model.Product;
+import com.bengregory.app.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Latency of one 50-row page of each catalog query, with and without the schema.sql indexes.
+ * The predicates are selective (a brand on ~0.1% of rows, a price band on ~0.2%), which is where
+ * a full scan hurts; common brands find 50 matches quickly even without an index.
+ * Each trial loads a fresh in-memory H2 database with "rows" products (a few million takes a while).
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.app.benchmark.ProductQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ProductQueryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final String BRAND = ProductDataGenerator.RARE_BRAND;
+    private static final BigDecimal MIN_PRICE = new BigDecimal("100.00");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("110.00");
+
+    @Param({"2000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private ProductRepository repository;
+    private Product brandCursor;
+    private Product priceCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // H2 would otherwise hand back the cached result of an identical, unchanged query
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:querybench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+
+        ProductDataGenerator generator = new ProductDataGenerator(jdbc);
+        generator.createSchema(indexed);
+        generator.load(rows);
+        jdbc.execute("ANALYZE");
+
+        repository = new ProductRepository();
+        repository.setJdbc(jdbc);
+
+        // Start the "deep page" benchmarks from the middle of the result so keyset seeking is exercised
+        List<Product> brandRows = repository.findByBrand(BRAND, null, Integer.MAX_VALUE);
+        brandCursor = brandRows.get(brandRows.size() / 2);
+        List<Product> priceRows = repository.findByPriceRange(MIN_PRICE, MAX_PRICE, null, Integer.MAX_VALUE);
+        priceCursor = priceRows.get(priceRows.size() / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<Product> brandFirstPage() {
+        return repository.findByBrand(BRAND, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Product> brandDeepPage() {
+        return repository.findByBrand(BRAND, brandCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Product> priceRangeFirstPage() {
+        return repository.findByPriceRange(MIN_PRICE, MAX_PRICE, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Product> priceRangeDeepPage() {
+        return repository.findByPriceRange(MIN_PRICE, MAX_PRICE, priceCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Product> namePrefixFirstPage() {
+        return repository.findByNamePrefix("Camera 1", null, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
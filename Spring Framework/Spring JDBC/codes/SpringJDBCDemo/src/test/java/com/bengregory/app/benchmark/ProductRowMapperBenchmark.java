@@ -0,0 +1,167 @@
+package com.bengregory.app.benchmark;
+
+import com.bengregory.app.model.Product;
+import com.bengregory.app.repository.ProductRowMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the ways of mapping the products table:
+ *  - the old per-call lambda (by column name, price read with getInt)
+ *  - Spring's reflective BeanPropertyRowMapper on a mutable bean
+ *  - the index-based ProductRowMapper, one instance per query
+ * The *Concurrent variants run the same query from 8 threads at once (each on its own pooled
+ * connection), to check that per-query index resolution holds up when queries overlap.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bengregory.app.benchmark.ProductRowMapperBenchmark
+ * (or run main() from the IDE)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductRowMapperBenchmark {
+
+    private static final int THREADS = 8;
+
+    private static final String QUERY = "SELECT product_id, name, brand, price FROM products";
+
+    @Param({"10000"})
+    private int rows;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:mapperbench;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(THREADS);
+        dataSource = new HikariDataSource(config);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE products (product_id INT PRIMARY KEY, name VARCHAR(50) NOT NULL, brand VARCHAR(50), price DECIMAL(10,2) NOT NULL)");
+
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[]{i, "Product " + i, "Brand " + (i % 50), new BigDecimal(i % 2000 + ".99")});
+        }
+        jdbc.batchUpdate("INSERT INTO products (product_id, name, brand, price) VALUES (?,?,?,?)", batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Product> lambdaByName() {
+        return queryWithLambda();
+    }
+
+    @Benchmark
+    public List<ProductBean> beanPropertyRowMapper() {
+        return jdbc.query(QUERY, new BeanPropertyRowMapper<>(ProductBean.class));
+    }
+
+    @Benchmark
+    public List<Product> precompiledRowMapper() {
+        return jdbc.query(QUERY, new ProductRowMapper());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public List<Product> lambdaByNameConcurrent() {
+        return queryWithLambda();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public List<Product> precompiledRowMapperConcurrent() {
+        return jdbc.query(QUERY, new ProductRowMapper());
+    }
+
+    private List<Product> queryWithLambda() {
+        // The mapper as findAll used to build it: a new lambda per call, name lookups, truncated price
+        RowMapper<Product> mapper = (rs, rowNum) -> new Product(
+                rs.getInt("product_id"),
+                rs.getString("name"),
+                rs.getString("brand"),
+                BigDecimal.valueOf(rs.getInt("price")));
+        return jdbc.query(QUERY, mapper);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductRowMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // Mutable JavaBean for BeanPropertyRowMapper, which needs a no-arg constructor and setters
+    public static class ProductBean {
+        private int productId;
+        private String name;
+        private String brand;
+        private BigDecimal price;
+
+        public int getProductId() {
+            return productId;
+        }
+
+        public void setProductId(int productId) {
+            this.productId = productId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public void setBrand(String brand) {
+            this.brand = brand;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+    }
+}